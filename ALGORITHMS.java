@@ -0,0 +1,76 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An enum class of algorithms
+ * This class defines available algorithms to find a path and creates their objects.
+ * It does not depend on the GUI, so headless runs can use it as well.
+ */
+public enum ALGORITHMS{
+	DIJKSTRA,
+	ASTAR,
+	BFS,
+	DFS,
+	BELLMANFORD,
+	SPFA,
+	BIDIRECTIONAL_BFS,
+	BIDIRECTIONAL_DIJKSTRA,
+	JPS,
+	DELTA_STEPPING,
+	LPASTAR,
+	HPASTAR,
+	ALT;
+
+	/**
+	 * Creates the object of the algorithm searching a grid
+	 * @param grid: the grid to search
+	 * @return the algorithm's object
+	 */
+	public Graph create(ReadOnlyGrid grid) {
+		switch(this) {
+			case DIJKSTRA:
+				return new DijkstraAlgorithm(grid);
+			case ASTAR:
+				return new AStarAlgorithm(grid);
+			case BFS:
+				return new BFSAlgorithm(grid);
+			case DFS:
+				return new DFSAlgorithm(grid);
+			case BELLMANFORD:
+				return new BellmanFordAlgorithm(grid);
+			case SPFA:
+				//Bellman-Ford relaxing only the changed nodes
+				return new BellmanFordAlgorithm(grid, BellmanFordAlgorithm.MODE.SPFA);
+			case BIDIRECTIONAL_BFS:
+				return new BidirectionalBFSAlgorithm(grid);
+			case BIDIRECTIONAL_DIJKSTRA:
+				return new BidirectionalDijkstraAlgorithm(grid);
+			case JPS:
+				return new JumpPointSearchAlgorithm(grid);
+			case DELTA_STEPPING:
+				//delta-stepping uses all available cores
+				return new DeltaSteppingAlgorithm(grid, Runtime.getRuntime().availableProcessors());
+			case LPASTAR:
+				return new LPAStarAlgorithm(grid);
+			case HPASTAR:
+				//clusters of 16 x 16 cells
+				return new HPAStarAlgorithm(grid, HPAStarAlgorithm.DEFAULT_CLUSTER_SIZE);
+			case ALT:
+				//A* with 8 landmarks
+				return new ALTAlgorithm(grid, ALTAlgorithm.DEFAULT_LANDMARKS);
+			default:
+				throw new IllegalArgumentException("unknown algorithm " + this);
+		}
+	}
+
+	/**
+	 * Returns true if the algorithm takes weight nodes into account
+	 * @return true for Dijkstra, A*, Bellman-Ford, SPFA, bidirectional Dijkstra, delta-stepping, LPA*, HPA* and ALT
+	 */
+	public boolean isWeighted() {
+		return this == DIJKSTRA || this == ASTAR || this == BELLMANFORD
+				|| this == SPFA || this == BIDIRECTIONAL_DIJKSTRA
+				|| this == DELTA_STEPPING || this == LPASTAR || this == HPASTAR
+				|| this == ALT;
+	}
+}
@@ -0,0 +1,55 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for A* search guided by landmarks (ALT).
+ * The landmark tables are computed before the first search and again after the grid changes,
+ * searches on an unchanged grid reuse them. The paths are the shortest ones, like A*'s.
+ */
+import java.util.ArrayList;
+
+public class ALTAlgorithm extends AStarAlgorithm {
+
+	//default number of landmarks
+	public static final int DEFAULT_LANDMARKS = 8;
+
+	private int landmarkCount;
+	private LandmarkHeuristic landmarks;
+
+	public ALTAlgorithm(ReadOnlyGrid grid) {
+		this(grid, DEFAULT_LANDMARKS);
+	}
+
+	public ALTAlgorithm(ReadOnlyGrid grid, int landmarkCount) {
+		super(grid);
+		this.landmarkCount = landmarkCount;
+	}
+
+	@Override
+	//the tables are kept only if no cell may differ in the new grid
+	public void setGrid(ReadOnlyGrid grid) {
+		if(this.landmarks != null && !GridSnapshot.sameCells(this.grid, grid, 0, this.grid.size())) {
+			this.landmarks = null;
+		}
+		super.setGrid(grid);
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		//the tables are no longer lower bounds once the grid changed
+		if(this.landmarks == null || !this.landmarks.isCurrent()) {
+			this.landmarks = new LandmarkHeuristic(this.grid, this.landmarkCount);
+			this.setHeuristic(this.landmarks);
+		}
+		return super.findPath();
+	}
+
+	/**
+	 * Returns the landmark heuristic of the last search
+	 * @return the heuristic, null before the first search
+	 */
+	public LandmarkHeuristic getLandmarks() {
+		return this.landmarks;
+	}
+}
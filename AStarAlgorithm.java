@@ -0,0 +1,110 @@
+package pathfindingVisualizer;
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for A* search algorithm
+ */
+
+import java.util.ArrayList;
+
+public class AStarAlgorithm extends Graph {
+
+	private Heuristic heuristic;
+	//priority queue of the reached but not yet visited nodes, kept between runs
+	private IndexedMinHeap queue;
+
+	public AStarAlgorithm(ReadOnlyGrid grid) {
+		this(grid, HEURISTIC.MANHATTAN);
+	}
+
+	public AStarAlgorithm(ReadOnlyGrid grid, Heuristic heuristic) {
+		super(grid);
+		this.heuristic = heuristic;
+		this.queue = new IndexedMinHeap(this.grid.size());
+	}
+
+	/**
+	 * sets the heuristic used to estimate the remaining cost to the destination
+	 * @param heuristic: the heuristic
+	 */
+	public void setHeuristic(Heuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
+	/**
+	 * returns the heuristic used to estimate the remaining cost to the destination
+	 * @return the heuristic
+	 */
+	public Heuristic getHeuristic() {
+		return this.heuristic;
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		//only the nodes reached so far are in the queue
+		this.queue.clear();
+
+		int destinationX = this.destination / this.columns;
+		int destinationY = this.destination % this.columns;
+
+		//nodes are ordered by distance + estimate, on equal values the one with the larger distance comes first
+		this.state.setDistance(this.source, 0);
+		this.queue.insert(this.source, this.estimate(this.source, destinationX, destinationY), 0);
+		this.stats.push(this.queue.size());
+
+		//Loop through the queue removing the node with the minimum distance + estimate
+		//and to evaluate distances of its neighbours until the destination is found
+		while(!this.queue.isEmpty()) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return this.partialPath();
+			}
+			int current = this.queue.poll();
+			this.stats.pop();
+			this.state.setVisited(current);
+
+			//Stop execution as soon as the destination is found
+			if(current == this.destination) {
+				break;
+			}
+			this.stats.expand();
+
+			//Loop through each neigbours and evaluate their distances
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour == -1 || this.grid.isWall(neighbour) || this.state.isVisited(neighbour)) {
+					continue;
+				}
+				//Calculate the new distance by adding neighbour's cost, 15 for the weight nodes
+				double newDistance = this.state.getDistance(current) + this.grid.cost(neighbour);
+
+				//if the new distance is less neighbour's distance, update the neighbour's distance to newDistance
+				if(newDistance < this.state.getDistance(neighbour)) {
+					this.stats.relax();
+					double priority = newDistance + this.estimate(neighbour, destinationX, destinationY);
+					if(this.queue.contains(neighbour)) {
+						this.queue.decreaseKey(neighbour, priority, -newDistance);
+					}
+					else {
+						this.queue.insert(neighbour, priority, -newDistance);
+						this.stats.push(this.queue.size());
+					}
+					this.state.setDistance(neighbour, newDistance);
+					this.state.setParent(neighbour, current);
+
+					//Invoke all the registered listeners
+					this.notifyVisited(neighbour);
+				}
+			}
+		}
+
+		//return the path
+		return this.tracePath();
+	}
+
+	//Returns the heuristic's estimate from the node at index to the destination
+	private double estimate(int index, int destinationX, int destinationY) {
+		return this.heuristic.estimate(index / this.columns, index % this.columns, destinationX, destinationY);
+	}
+
+}
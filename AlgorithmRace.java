@@ -0,0 +1,160 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class runs several algorithms at once between the same source and destination,
+ * each one on its own thread, and records their visits, paths and stats for a side by side comparison.
+ * The algorithms search a snapshot of the grid and keep their own search state, so they never share
+ * anything that changes. Their objects are kept from race to race and moved to the new snapshot
+ * when the grid changed, so the algorithms that preprocess the grid (HPA*, ALT) only redo
+ * the parts an edit touched.
+ * A race is run by one thread at a time, no two races overlap.
+ */
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+public class AlgorithmRace {
+	//threads of the racing algorithms, shared by all races and kept idle between them,
+	//daemon threads so they never keep the application running
+	private static final ExecutorService THREADS = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "algorithm-race");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * A class to define the outcome of one algorithm in a race
+	 */
+	public static class Result {
+		public final ALGORITHMS algorithm;
+		//visits and path of the search, to replay
+		public final SearchTrace trace;
+		//counters, time and path cost of the search
+		public final SearchStats stats;
+		//true if the token stopped the search before it was done
+		public final boolean stopped;
+
+		private Result(ALGORITHMS algorithm, SearchTrace trace, SearchStats stats, boolean stopped) {
+			this.algorithm = algorithm;
+			this.trace = trace;
+			this.stats = stats;
+			this.stopped = stopped;
+		}
+	}
+
+	/**
+	 * A class to define one algorithm of the race, it records the visits of its search
+	 */
+	private static class Runner implements Callable<Result>, NodeVisitedListener {
+		private final ALGORITHMS algorithm;
+		private final Graph graph;
+		private SearchTrace trace;
+		private SearchToken token;
+
+		private Runner(ALGORITHMS algorithm, GridSnapshot snapshot) {
+			this.algorithm = algorithm;
+			//every algorithm has its own thread, delta-stepping gets no more than the others
+			this.graph = algorithm == ALGORITHMS.DELTA_STEPPING ? new DeltaSteppingAlgorithm(snapshot, 1) : algorithm.create(snapshot);
+			this.graph.addNodeVisitedListener(this);
+		}
+
+		@Override
+		public void nodeVisited(int x, int y) {
+			this.trace.addVisit(x, y, false);
+		}
+
+		@Override
+		public void nodeVisited(int x, int y, FRONTIER frontier) {
+			this.trace.addVisit(x, y, frontier == FRONTIER.BACKWARD);
+		}
+
+		@Override
+		public Result call() {
+			this.trace = new SearchTrace(this.graph.columns);
+			this.graph.reset();
+			ArrayList<Node> path = this.graph.findPath(this.token);
+			this.trace.setPath(path);
+			return new Result(this.algorithm, this.trace, new SearchStats(this.graph.getStats()), this.graph.wasStopped());
+		}
+	}
+
+	private GridModel grid;
+	//snapshot the runners search, taken again when the grid changed
+	private GridSnapshot snapshot;
+	//one runner per algorithm that raced on the grid
+	private EnumMap<ALGORITHMS, Runner> runners = new EnumMap<ALGORITHMS, Runner>(ALGORITHMS.class);
+
+	/**
+	 * argumented constructor
+	 * @param grid: the grid to race on
+	 */
+	public AlgorithmRace(GridModel grid) {
+		this.grid = grid;
+	}
+
+	/**
+	 * Runs the algorithms at once, each on its own thread, and waits until all are done
+	 * @param algorithms: the algorithms racing
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param token: token stopping all the searches, null to run them to the end
+	 * @return the outcome of every algorithm, in the order of algorithms
+	 */
+	public List<Result> run(List<ALGORITHMS> algorithms, int source, int destination, SearchToken token) {
+		if(this.snapshot == null || this.snapshot.getVersion() != this.grid.getVersion()) {
+			this.snapshot = this.grid.snapshot();
+			//the runners keep what the edits did not touch
+			for(Runner runner : this.runners.values()) {
+				runner.graph.setGrid(this.snapshot);
+			}
+		}
+		List<Runner> racing = new ArrayList<Runner>();
+		for(ALGORITHMS algorithm : algorithms) {
+			Runner runner = this.runners.get(algorithm);
+			if(runner == null) {
+				runner = new Runner(algorithm, this.snapshot);
+				this.runners.put(algorithm, runner);
+			}
+			int columns = this.snapshot.getColumns();
+			runner.graph.setSource(source / columns, source % columns);
+			runner.graph.setDestination(destination / columns, destination % columns);
+			runner.token = token;
+			racing.add(runner);
+		}
+
+		//one thread per algorithm, they all start together
+		try {
+			List<Future<Result>> futures = THREADS.invokeAll(racing);
+			List<Result> results = new ArrayList<Result>();
+			for(Future<Result> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("the race was interrupted", e);
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("an algorithm of the race failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Returns the snapshot of the grid the last race searched
+	 * @return the snapshot, null before the first race
+	 */
+	public GridSnapshot getSnapshot() {
+		return this.snapshot;
+	}
+}
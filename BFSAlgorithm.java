@@ -8,92 +8,65 @@ import java.util.ArrayList;
 
 public class BFSAlgorithm extends Graph {
 
-	public BFSAlgorithm(int rows, int columns) {
-		super(rows, columns);
+	//An array to maintain a queue, every node is added at most once, kept between runs
+	private int[] queue;
+
+	public BFSAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.queue = new int[this.grid.size()];
 	}
 
 	@Override
 	//Computes and returns a path between the source and destination node
 	public ArrayList<Node> findPath() {
-		//An array list to maintain a queue
-		ArrayList<Node> queue = new ArrayList<Node>();
-		
-		this.source.isVisited = true;
-		
-		String sourceKey = this.generateKey(this.source);
-		String destinationKey = this.generateKey(this.destination);
+		int[] queue = this.queue;
+		int head = 0;
+		int tail = 0;
+
+		this.state.setVisited(this.source);
+		queue[tail++] = this.source;
+		this.stats.push(tail - head);
 
-		queue.add(this.source);
-		
-		//Loop through the array list removing the front node 
-		//and to mark its neighbours as visited and add them at the end of the queue if they are not already visited 
+		//Loop through the queue removing the front node
+		//and to mark its neighbours as visited and add them at the end of the queue if they are not already visited
 		//until the destination is visited/found
-		while(!queue.isEmpty()) {
+		while(head < tail) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return this.partialPath();
+			}
 			//remove the front node
-			Node current = queue.get(0);
-			queue.remove(0);
-			
-			String currentKey = this.generateKey(current);
-			
+			int current = queue[head++];
+			this.stats.pop();
+
 			//Stop execution as soon as the destination is found
-			if(currentKey.compareTo(destinationKey) == 0) {
+			if(current == this.destination) {
 				break;
 			}
-			
-			ArrayList<Node> neighbours = new ArrayList<Node>();
-			
-			//get all the neighbours of the current node
-			Node neighbour1 = this.getNeighbour(this.nodes.get(currentKey), DIR.LEFT);
-			if(neighbour1 != null && !neighbour1.isWall) {
-				neighbours.add(neighbour1);
-			}
-			Node neighbour2 = this.getNeighbour(this.nodes.get(currentKey), DIR.UP);
-			if(neighbour2 != null && !neighbour2.isWall) {
-				neighbours.add(neighbour2);
-			}
-			Node neighbour3 = this.getNeighbour(this.nodes.get(currentKey), DIR.RIGHT);
-			if(neighbour3 != null && !neighbour3.isWall) {
-				neighbours.add(neighbour3);
-			}
-			Node neighbour4 = this.getNeighbour(this.nodes.get(currentKey), DIR.DOWN);
-			if(neighbour4 != null && !neighbour4.isWall) {
-				neighbours.add(neighbour4);
-			}
-			
+			this.stats.expand();
+
 			//loop through each neigbours evalate their status
-			for(int i = 0; i < neighbours.size(); i++) {
-				String currentNeighbourKey = this.generateKey(neighbours.get(i));
-				//if the neighbour is not visited yet, mark is as visited and add it at the end of the queue
-				if(!neighbours.get(i).isVisited) {
-					neighbours.get(i).isVisited = true;
-					Node n = this.nodes.get(currentNeighbourKey);
-					n.previous = this.nodes.get(currentKey);
-					queue.add(neighbours.get(i));
-					
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				//if the neighbour is not a wall and not visited yet, mark is as visited and add it at the end of the queue
+				if(neighbour != -1 && !this.grid.isWall(neighbour) && !this.state.isVisited(neighbour)) {
+					this.state.setVisited(neighbour);
+					this.state.setParent(neighbour, current);
+					queue[tail++] = neighbour;
+					this.stats.relax();
+					this.stats.push(tail - head);
+
 					//Invoke all the registered listeners
-					for(NodeVisitedListener listener: this.listeners) {
-						listener.nodeVisited(n.x, n.y);
-					}
+					this.notifyVisited(neighbour);
 				}
 			}
 		}
-		
-		ArrayList<Node> path = new ArrayList<Node>();
-		Node prevNode = this.nodes.get(destinationKey);
-		String prevKey = this.generateKey(prevNode);
-		
-		//generate path by visiting previous nodes starting from the destination to the source
-		while(prevKey.compareTo(sourceKey) != 0) {
-			path.add(prevNode);
-			prevNode = prevNode.previous;
-			prevKey = this.generateKey(prevNode);
-		}
-		
+
 		//return the path
-		return path;
+		return this.tracePath();
 	}
-	
-	
-	
+
+
+
 
 }
@@ -0,0 +1,178 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class runs path queries without the GUI.
+ * It loads a grid file, text or binary, runs random source/destination queries with one algorithm
+ * and prints the cost, number of expanded nodes and latency of every query,
+ * followed by the aggregates and latency percentiles.
+ * With a budget, every query is stopped once it ran that many milliseconds
+ * and reported as stopped.
+ * Results are kept in an LRU PathCache, a repeated query is answered from it and shows 0 expanded nodes.
+ * The counters of the searched queries (expansions, relaxations, queue operations, allocations)
+ * are averaged at the end.
+ * No AWT or Swing class is loaded, so it runs on machines without a display.
+ *
+ * Usage: BatchQueryRunner grid-file algorithm [queries] [seed] [budget-ms] [cache-size]
+ */
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class BatchQueryRunner {
+
+	private GridModel grid;
+	private ALGORITHMS algorithm;
+	private Graph graph;
+	//results of the previous queries, null when caching is off
+	private PathCache cache;
+
+	/**
+	 * argumented constructor
+	 * @param grid: the grid to search
+	 * @param algorithm: the algorithm running the queries
+	 * @param cacheSize: number of results kept for repeated queries, 0 to search every query
+	 */
+	public BatchQueryRunner(GridModel grid, ALGORITHMS algorithm, int cacheSize) {
+		this.grid = grid;
+		this.algorithm = algorithm;
+		this.cache = cacheSize > 0 ? new PathCache(grid, cacheSize) : null;
+		this.graph = algorithm.create(grid);
+	}
+
+	/**
+	 * Runs random queries between open cells and prints the results
+	 * @param queries: number of queries
+	 * @param seed: seed of the random sources and destinations
+	 * @param budgetMillis: milliseconds each query may run, 0 for no limit
+	 */
+	public void run(int queries, long seed, long budgetMillis) {
+		//open cells, the sources and destinations are picked among them
+		int[] open = new int[this.grid.size()];
+		int openCount = 0;
+		for(int i = 0; i < this.grid.size(); i++) {
+			if(!this.grid.isWall(i)) {
+				open[openCount++] = i;
+			}
+		}
+		if(openCount == 0) {
+			System.out.println("the grid has no open cell");
+			return;
+		}
+
+		Random random = new Random(seed);
+		long[] latencies = new long[queries];
+		double totalCost = 0;
+		int found = 0;
+		int stopped = 0;
+		//counters of the queries that were searched, not answered from the cache
+		SearchMetrics metrics = new SearchMetrics(Math.max(queries, 1));
+
+		System.out.println("query\tsource\tdestination\tcost\texpanded\tmicroseconds");
+		for(int q = 0; q < queries; q++) {
+			int source = open[random.nextInt(openCount)];
+			int destination = open[random.nextInt(openCount)];
+			int columns = this.grid.columns;
+
+			long expanded = 0;
+			long start = System.nanoTime();
+			PathCache.Entry cached = this.cache == null ? null : this.cache.get(this.algorithm, source, destination);
+			ArrayList<Node> path;
+			boolean wasStopped = false;
+			if(cached != null) {
+				path = cached.path;
+			}
+			else {
+				this.graph.reset();
+				this.graph.setSource(source / columns, source % columns);
+				this.graph.setDestination(destination / columns, destination % columns);
+				path = this.graph.findPath(budgetMillis > 0 ? new SearchToken(budgetMillis) : null);
+				wasStopped = this.graph.wasStopped();
+				expanded = this.graph.getStats().getNodesExpanded();
+				metrics.record(this.algorithm, this.graph.getStats());
+				if(this.cache != null) {
+					this.cache.put(this.algorithm, this.graph, path, null);
+				}
+			}
+			latencies[q] = System.nanoTime() - start;
+
+			//an empty path means the destination was not reached, unless it is the source
+			String cost = "-";
+			if(wasStopped) {
+				stopped++;
+				cost = "stopped";
+			}
+			else if(!path.isEmpty() || source == destination) {
+				double pathCost = this.cost(path);
+				totalCost += pathCost;
+				found++;
+				cost = String.valueOf(pathCost);
+			}
+			System.out.println(q + "\t" + (source / columns) + "," + (source % columns)
+					+ "\t" + (destination / columns) + "," + (destination % columns)
+					+ "\t" + cost + "\t" + expanded + "\t" + latencies[q] / 1000);
+		}
+
+		Arrays.sort(latencies);
+		System.out.println();
+		System.out.println("queries: " + queries + ", found: " + found + ", stopped: " + stopped);
+		System.out.println("mean cost: " + (found == 0 ? "-" : String.valueOf(totalCost / found)));
+		SearchStats mean = metrics.getRollingMean();
+		System.out.println("searched: " + metrics.getRuns() + ", mean expanded: " + mean.getNodesExpanded()
+				+ ", relaxed: " + mean.getEdgesRelaxed() + ", pushes: " + mean.getQueuePushes()
+				+ ", pops: " + mean.getQueuePops() + ", peak frontier: " + mean.getPeakFrontier()
+				+ ", allocated bytes: " + (mean.getAllocatedBytes() < 0 ? "-" : String.valueOf(mean.getAllocatedBytes())));
+		if(this.cache != null) {
+			System.out.println("cache hits: " + this.cache.getHits() + ", misses: " + this.cache.getMisses());
+		}
+		System.out.println("latency microseconds p50: " + percentile(latencies, 50) / 1000
+				+ ", p90: " + percentile(latencies, 90) / 1000
+				+ ", p99: " + percentile(latencies, 99) / 1000
+				+ ", max: " + percentile(latencies, 100) / 1000);
+	}
+
+	/**
+	 * Returns the cost of a path, the source is not part of it
+	 * @param path: nodes of the path
+	 * @return sum of the costs of the nodes
+	 */
+	private double cost(ArrayList<Node> path) {
+		double cost = 0;
+		for(Node node : path) {
+			cost += this.grid.cost(this.grid.index(node.x, node.y));
+		}
+		return cost;
+	}
+
+	/**
+	 * Returns a percentile with the nearest rank method
+	 * @param sorted: values in increasing order
+	 * @param percent: the percentile, between 0 and 100
+	 * @return the value at the percentile, 0 if there are no values
+	 */
+	private static long percentile(long[] sorted, int percent) {
+		if(sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int)Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	public static void main(String args[]) throws IOException {
+		if(args.length < 2) {
+			System.err.println("usage: BatchQueryRunner grid-file algorithm [queries] [seed] [budget-ms] [cache-size]");
+			System.err.println("algorithms: " + Arrays.toString(ALGORITHMS.values()));
+			System.exit(2);
+		}
+		GridModel grid = GridIO.read(Paths.get(args[0])).grid;
+		ALGORITHMS algorithm = ALGORITHMS.valueOf(args[1].toUpperCase());
+		int queries = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+		long budgetMillis = args.length > 4 ? Long.parseLong(args[4]) : 0;
+		int cacheSize = args.length > 5 ? Integer.parseInt(args[5]) : 1024;
+
+		new BatchQueryRunner(grid, algorithm, cacheSize).run(queries, seed, budgetMillis);
+	}
+}
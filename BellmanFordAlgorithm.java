@@ -2,86 +2,202 @@ package pathfindingVisualizer;
 
 import java.util.ArrayList;
 
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for Bellman-Ford algorithm.
+ * In SWEEP mode every pass relaxes all reached nodes and the search stops after a pass
+ * without any change. In SPFA mode only the nodes whose distance changed are relaxed again,
+ * in the order they changed.
+ * Cells may have negative costs, a negative cycle reachable from the source is detected
+ * and no path is returned.
+ */
 public class BellmanFordAlgorithm extends Graph{
 
-	public BellmanFordAlgorithm(int rows, int columns) {
-		super(rows, columns);
+	/**
+	 * An enum class of modes
+	 * This class defines the available ways to repeat the relaxations
+	 */
+	enum MODE {
+		SWEEP,
+		SPFA
+	}
+
+	private MODE mode;
+	private boolean negativeCycle;
+	//SPFA queue, every node is in it at most once, kept between runs
+	private int[] queue;
+	private boolean[] inQueue;
+	//number of edges on the current path of each node, used to detect negative cycles
+	private int[] edges;
+
+	public BellmanFordAlgorithm(ReadOnlyGrid grid) {
+		this(grid, MODE.SWEEP);
+	}
+
+	public BellmanFordAlgorithm(ReadOnlyGrid grid, MODE mode) {
+		super(grid);
+		this.mode = mode;
+		if(mode == MODE.SPFA) {
+			this.queue = new int[this.grid.size()];
+			this.inQueue = new boolean[this.grid.size()];
+			this.edges = new int[this.grid.size()];
+		}
+	}
+
+	/**
+	 * returns true if the last search found a negative cycle reachable from the source
+	 * @return true if there is a negative cycle
+	 */
+	public boolean hasNegativeCycle() {
+		return this.negativeCycle;
 	}
 
 	@Override
 	//Computes and returns a path between the source and destination node
 	public ArrayList<Node> findPath() {
 
-		this.source.weight = 0;
-		
-		//loop through the all nodes number of nodes-1 times
-		for(int k = 0; k < this.nodes.size() - 1; k++) {
-			for(int i= 0; i < this.rows; i++) {
-				for(int j = 0; j < this.columns; j++) {
-					String currentKey = this.generateKey(i, j);
-					Node n = this.nodes.get(currentKey);
-					//if the current node is not a wall evaluate distances of each node and its neighbours from the source one by one
-					if(!n.isWall) {
-						ArrayList<Node> neighbours = new ArrayList<Node>();
-						
-						//get all the neighbours of the current node
-						Node neighbour1 = this.getNeighbour(this.nodes.get(currentKey), DIR.LEFT);
-						if(neighbour1 != null && !neighbour1.isWall) {
-							neighbours.add(neighbour1);
-						}
-						Node neighbour2 = this.getNeighbour(this.nodes.get(currentKey), DIR.UP);
-						if(neighbour2 != null && !neighbour2.isWall) {
-							neighbours.add(neighbour2);
-						}
-						Node neighbour3 = this.getNeighbour(this.nodes.get(currentKey), DIR.RIGHT);
-						if(neighbour3 != null && !neighbour3.isWall) {
-							neighbours.add(neighbour3);
-						}
-						Node neighbour4 = this.getNeighbour(this.nodes.get(currentKey), DIR.DOWN);
-						if(neighbour4 != null && !neighbour4.isWall) {
-							neighbours.add(neighbour4);
-						}
-						
-						//Loop through each neigbours and evaluate their distances
-						for(Node neighbour : neighbours) {
-							//distance to be added is 1
-							double distance = 1;
-							String currrentNeighbourKey = this.generateKey(neighbour);
-							//for the the weight nodes distance to be added is 15
-							if(this.nodes.get(currrentNeighbourKey).isWeightNode) {
-								distance = 15;
-							}
-							//if the weight of the currentNode+distance is less neighbour's weight, update the neighbour's weight to it
-							if(neighbour.weight > n.weight + distance) {
-								neighbour.weight = n.weight + distance;
-								neighbour.previous = n;
-								
-								//Invoke all the registered listeners
-								for(NodeVisitedListener listener : this.listeners) {
-									listener.nodeVisited(neighbour.x, neighbour.y);
-								}
-							}
+		this.state.setDistance(this.source, 0);
+		this.negativeCycle = this.mode == MODE.SPFA ? !this.relaxQueued() : !this.relaxSweeps();
+
+		//there is no shortest path through a negative cycle
+		if(this.negativeCycle) {
+			return new ArrayList<Node>();
+		}
+
+		//a search stopped by its token returns the best path found so far
+		if(this.wasStopped()) {
+			return this.partialPath();
+		}
+
+		//return the path
+		return this.tracePath();
+	}
+
+	/**
+	 * Relaxes all reached nodes pass after pass until a pass changes nothing
+	 * @return false if a negative cycle is found, true if none is found or the search is stopped
+	 */
+	private boolean relaxSweeps() {
+		int size = this.grid.size();
+		//without negative cycles no shortest path has more than size-1 edges,
+		//so the pass number size must not change anything
+		for(int k = 0; k < size; k++) {
+			boolean changed = false;
+			for(int n = 0; n < size; n++) {
+				if(this.isStopped()) {
+					return true;
+				}
+				//only the reached nodes can improve their neighbours
+				if(!this.grid.isWall(n) && this.state.getDistance(n) != Double.POSITIVE_INFINITY) {
+					this.stats.expand();
+					changed |= this.relax(n);
+				}
+			}
+			//stop as soon as a pass changes nothing
+			if(!changed) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Relaxes the nodes whose distance changed, in the order they changed, until none is left
+	 * @return false if a negative cycle is found, true if none is found or the search is stopped
+	 */
+	private boolean relaxQueued() {
+		int size = this.grid.size();
+		int head = 0;
+		int count = 0;
+
+		this.edges[this.source] = 0;
+		this.queue[0] = this.source;
+		this.inQueue[this.source] = true;
+		count++;
+		this.stats.push(count);
+
+		while(count > 0) {
+			if(this.isStopped()) {
+				//leave the queue empty for the next run
+				while(count > 0) {
+					this.inQueue[this.queue[head]] = false;
+					head = (head + 1) % size;
+					count--;
+				}
+				return true;
+			}
+			int n = this.queue[head];
+			head = (head + 1) % size;
+			count--;
+			this.inQueue[n] = false;
+			this.stats.pop();
+			this.stats.expand();
+
+			//Loop through each neigbours and evaluate their distances
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(n, direction);
+				if(neighbour == -1 || this.grid.isWall(neighbour)) {
+					continue;
+				}
+				double distance = this.state.getDistance(n) + this.grid.cost(neighbour);
+				if(this.state.getDistance(neighbour) > distance) {
+					this.stats.relax();
+					this.state.setDistance(neighbour, distance);
+					this.state.setParent(neighbour, n);
+					this.edges[neighbour] = this.edges[n] + 1;
+
+					//Invoke all the registered listeners
+					this.notifyVisited(neighbour);
+
+					//a path with size edges repeats a node, so it goes through a negative cycle
+					if(this.edges[neighbour] >= size) {
+						//leave the queue empty for the next run
+						while(count > 0) {
+							this.inQueue[this.queue[head]] = false;
+							head = (head + 1) % size;
+							count--;
 						}
+						return false;
+					}
+					if(!this.inQueue[neighbour]) {
+						this.queue[(head + count) % size] = neighbour;
+						this.inQueue[neighbour] = true;
+						count++;
+						this.stats.push(count);
 					}
 				}
-			}	
+			}
 		}
-		
-		String sourceKey = this.generateKey(this.source);
-		String destinationKey = this.generateKey(this.destination);
-		Node prevNode = this.nodes.get(destinationKey);
-		String prevNodeKey = this.generateKey(prevNode);
-		ArrayList<Node> path = new ArrayList<Node>();
-		
-		//generate path by visiting previous nodes starting from the destination to the source
-		while(prevNodeKey.compareTo(sourceKey) != 0) {
-			path.add(prevNode);
-			prevNode = prevNode.previous;
-			prevNodeKey = this.generateKey(prevNode);
+		return true;
+	}
+
+	/**
+	 * Evaluates distances of the neighbours of a node
+	 * @param n: index of the node
+	 * @return true if the distance of a neighbour was lowered
+	 */
+	private boolean relax(int n) {
+		boolean changed = false;
+		//Loop through each neigbours and evaluate their distances
+		for(DIR direction : DIRECTIONS) {
+			int neighbour = this.getNeighbour(n, direction);
+			if(neighbour == -1 || this.grid.isWall(neighbour)) {
+				continue;
+			}
+			//distance to be added is the cost of the neighbour, 15 for the weight nodes
+			double distance = this.state.getDistance(n) + this.grid.cost(neighbour);
+			//if the distance of the currentNode+cost is less neighbour's distance, update the neighbour's distance to it
+			if(this.state.getDistance(neighbour) > distance) {
+				this.stats.relax();
+				this.state.setDistance(neighbour, distance);
+				this.state.setParent(neighbour, n);
+				changed = true;
+
+				//Invoke all the registered listeners
+				this.notifyVisited(neighbour);
+			}
 		}
-		
-		//return the path
-		return path;
+		return changed;
 	}
 
 }
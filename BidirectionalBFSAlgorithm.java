@@ -0,0 +1,111 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for Breadth First Search from the source and the destination at once
+ */
+import java.util.ArrayList;
+
+public class BidirectionalBFSAlgorithm extends BidirectionalGraph {
+
+	//An array for each side to maintain a queue, every node is added at most once per side, kept between runs
+	private int[] forwardQueue;
+	private int[] backwardQueue;
+
+	public BidirectionalBFSAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.forwardQueue = new int[this.grid.size()];
+		this.backwardQueue = new int[this.grid.size()];
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		if(this.source == this.destination) {
+			return this.tracePath();
+		}
+
+		int[] forwardQueue = this.forwardQueue;
+		int[] backwardQueue = this.backwardQueue;
+		int forwardHead = 0, forwardTail = 0;
+		int backwardHead = 0, backwardTail = 0;
+
+		this.state.setVisited(this.source);
+		this.state.setDistance(this.source, 0);
+		forwardQueue[forwardTail++] = this.source;
+		this.backward.setVisited(this.destination);
+		this.backward.setDistance(this.destination, 0);
+		backwardQueue[backwardTail++] = this.destination;
+		this.stats.push(2);
+		this.stats.push(2);
+
+		//the shortest edge found so far joining both searches
+		double best = Double.POSITIVE_INFINITY;
+		int meetFrom = -1;
+		int meetTo = -1;
+
+		//Expand one whole level of the smaller queue at a time.
+		//The first level in which the searches meet contains the shortest path,
+		//so the search stops after that level.
+		while(forwardHead < forwardTail && backwardHead < backwardTail && meetFrom == -1) {
+			boolean forward = forwardTail - forwardHead <= backwardTail - backwardHead;
+			SearchState own = forward ? this.state : this.backward;
+			SearchState other = forward ? this.backward : this.state;
+			int[] queue = forward ? forwardQueue : backwardQueue;
+			int head = forward ? forwardHead : backwardHead;
+			int tail = forward ? forwardTail : backwardTail;
+			int levelEnd = tail;
+
+			while(head < levelEnd) {
+				//Stop execution when the token says so, with the best path found so far
+				if(this.isStopped()) {
+					return meetFrom == -1 ? this.partialPath() : this.splicePath(meetFrom, meetTo);
+				}
+				int current = queue[head++];
+				this.stats.pop();
+				this.stats.expand();
+				for(DIR direction : DIRECTIONS) {
+					int neighbour = this.getNeighbour(current, direction);
+					if(neighbour == -1 || this.grid.isWall(neighbour)) {
+						continue;
+					}
+					//the neighbour is reached by the other side, keep the shortest joining edge
+					if(other.isVisited(neighbour)) {
+						double length = own.getDistance(current) + 1 + other.getDistance(neighbour);
+						if(length < best) {
+							best = length;
+							meetFrom = forward ? current : neighbour;
+							meetTo = forward ? neighbour : current;
+						}
+					}
+					//if the neighbour is not visited yet, mark is as visited and add it at the end of the queue
+					if(!own.isVisited(neighbour)) {
+						own.setVisited(neighbour);
+						own.setDistance(neighbour, own.getDistance(current) + 1);
+						own.setParent(neighbour, current);
+						queue[tail++] = neighbour;
+						this.stats.relax();
+						//the frontier is made of both queues, the other one is not changed by this level
+						this.stats.push(forward ? tail - head + backwardTail - backwardHead
+								: forwardTail - forwardHead + tail - head);
+
+						//Invoke all the registered listeners
+						this.notifyVisited(neighbour, forward ? FRONTIER.FORWARD : FRONTIER.BACKWARD);
+					}
+				}
+			}
+
+			if(forward) {
+				forwardHead = head;
+				forwardTail = tail;
+			}
+			else {
+				backwardHead = head;
+				backwardTail = tail;
+			}
+		}
+
+		//return the path
+		return this.splicePath(meetFrom, meetTo);
+	}
+}
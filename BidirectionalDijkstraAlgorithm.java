@@ -0,0 +1,99 @@
+package pathfindingVisualizer;
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for Dijkstra's algorithm from the source and the destination at once
+ */
+
+import java.util.ArrayList;
+
+public class BidirectionalDijkstraAlgorithm extends BidirectionalGraph {
+
+	//priority queues of the reached but not yet visited nodes of each side, kept between runs
+	private IndexedMinHeap forwardQueue;
+	private IndexedMinHeap backwardQueue;
+
+	public BidirectionalDijkstraAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.forwardQueue = new IndexedMinHeap(this.grid.size());
+		this.backwardQueue = new IndexedMinHeap(this.grid.size());
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		this.forwardQueue.clear();
+		this.backwardQueue.clear();
+		if(this.source == this.destination) {
+			return this.tracePath();
+		}
+
+		this.state.setDistance(this.source, 0);
+		this.forwardQueue.insert(this.source, 0);
+		this.backward.setDistance(this.destination, 0);
+		this.backwardQueue.insert(this.destination, 0);
+		this.stats.push(2);
+		this.stats.push(2);
+
+		//the shortest edge found so far joining both searches
+		double best = Double.POSITIVE_INFINITY;
+		int meetFrom = -1;
+		int meetTo = -1;
+
+		//Visit the node with the minimum distance of either side.
+		//Once the two minimum distances add up to the best joining path, no shorter one can be found.
+		while(!this.forwardQueue.isEmpty() && !this.backwardQueue.isEmpty()
+				&& this.forwardQueue.peekKey() + this.backwardQueue.peekKey() < best) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return meetFrom == -1 ? this.partialPath() : this.splicePath(meetFrom, meetTo);
+			}
+			boolean forward = this.forwardQueue.peekKey() <= this.backwardQueue.peekKey();
+			SearchState own = forward ? this.state : this.backward;
+			SearchState other = forward ? this.backward : this.state;
+			IndexedMinHeap queue = forward ? this.forwardQueue : this.backwardQueue;
+
+			int current = queue.poll();
+			this.stats.pop();
+			this.stats.expand();
+			own.setVisited(current);
+
+			//Loop through each neigbours and evaluate their distances
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour == -1 || this.grid.isWall(neighbour)) {
+					continue;
+				}
+				//moving forward costs the neighbour's cost, moving backward costs the current node's cost
+				double newDistance = own.getDistance(current) + this.grid.cost(forward ? neighbour : current);
+
+				//the neighbour is reached by the other side, keep the shortest joining edge
+				if(newDistance + other.getDistance(neighbour) < best) {
+					best = newDistance + other.getDistance(neighbour);
+					meetFrom = forward ? current : neighbour;
+					meetTo = forward ? neighbour : current;
+				}
+
+				//if the new distance is less neighbour's distance, update the neighbour's distance to newDistance
+				if(!own.isVisited(neighbour) && newDistance < own.getDistance(neighbour)) {
+					this.stats.relax();
+					if(queue.contains(neighbour)) {
+						queue.decreaseKey(neighbour, newDistance);
+					}
+					else {
+						queue.insert(neighbour, newDistance);
+						//the frontier is made of both queues
+						this.stats.push(this.forwardQueue.size() + this.backwardQueue.size());
+					}
+					own.setDistance(neighbour, newDistance);
+					own.setParent(neighbour, current);
+
+					//Invoke all the registered listeners
+					this.notifyVisited(neighbour, forward ? FRONTIER.FORWARD : FRONTIER.BACKWARD);
+				}
+			}
+		}
+
+		//return the path
+		return this.splicePath(meetFrom, meetTo);
+	}
+}
@@ -0,0 +1,63 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Base class of the searches running from the source and the destination at once.
+ * The forward search uses the state of the Graph, the backward search keeps its own,
+ * where the parent of a node is the next node on the way to the destination.
+ */
+import java.util.ArrayList;
+
+public abstract class BidirectionalGraph extends Graph {
+
+	//scratch state of the search from the destination
+	protected SearchState backward;
+
+	public BidirectionalGraph(ReadOnlyGrid grid) {
+		super(grid);
+		this.backward = new SearchState(this.grid.size(), this.columns);
+	}
+
+	/**
+	 * Joins both searches on the edge from a forward node to a backward node and
+	 * returns the path between the source and destination node.
+	 * @param from: node reached by the forward search, -1 if the searches did not meet
+	 * @param to: node reached by the backward search, adjacent to from
+	 * @return an array list of nodes from the destination to the source (excluded)
+	 */
+	protected ArrayList<Node> splicePath(int from, int to) {
+		if(from == -1) {
+			return new ArrayList<Node>();
+		}
+		//point the forward parents along the backward search's path to the destination
+		int previous = from;
+		int current = to;
+		while(current != -1) {
+			this.state.setParent(current, previous);
+			previous = current;
+			current = this.backward.getParent(current);
+		}
+		return this.tracePath();
+	}
+
+	@Override
+	//the union of the cells reached by both searches
+	public int[] getExploredBounds() {
+		int[] bounds = this.state.getBounds();
+		int[] backwardBounds = this.backward.getBounds();
+		return new int[] {Math.min(bounds[0], backwardBounds[0]), Math.min(bounds[1], backwardBounds[1]),
+				Math.max(bounds[2], backwardBounds[2]), Math.max(bounds[3], backwardBounds[3])};
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		this.backward.clear();
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		this.backward.clear();
+	}
+}
@@ -5,86 +5,78 @@ package pathfindingVisualizer;
  * Graph implementation for Depth First Search algorithm
  */
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class DFSAlgorithm extends Graph{
 
-	public DFSAlgorithm(int rows, int columns) {
-		super(rows, columns);
+	//An array to maintain a stack, it grows when a node is pushed more than once, kept between runs
+	private int[] stack;
+
+	public DFSAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.stack = new int[Math.max(16, this.grid.size())];
 	}
 
 	@Override
 	//Computes and returns a path between the source and destination node
 	public ArrayList<Node> findPath() {
-		//An array list to maintain a stack
-		ArrayList<Node> stack = new ArrayList<Node>();
-	    Node previous = null;
-		
-		stack.add(this.source);
-		String sourceKey = this.generateKey(this.source);
-		String destinationKey = this.generateKey(this.destination);
-		
+		int[] stack = this.stack;
+		int top = 0;
+	    int previous = -1;
+
+		stack[top++] = this.source;
+		this.stats.push(top);
+
 		//Loop through the stack removing the top node and to mark it as visited if not visited yet
 		// and to add all its neigbours to the stack until the destination is found
-		while(!stack.isEmpty()) {
+		while(top > 0) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return this.partialPath();
+			}
 			//pop the top node
-			Node n = stack.remove(stack.size() - 1);
-			String currentKey = this.generateKey(n);
-			
+			int n = stack[--top];
+			this.stats.pop();
+
 			//if the current node is not visited mark it as visited and add its neighbours to the stack
-			if(!n.isVisited) {
-				n.isVisited = true;
-				//Invoke all the registered listeners 
-				for(NodeVisitedListener listener : this.listeners) {
-					listener.nodeVisited(n.x, n.y);
-				}
+			if(!this.state.isVisited(n)) {
+				this.state.setVisited(n);
+				//Invoke all the registered listeners
+				this.notifyVisited(n);
 				//set the previous of the current node if not set yet
-				if(previous != null) {
-					n.previous = previous;
+				if(previous != -1) {
+					this.state.setParent(n, previous);
 				}
 				//update the previous
 				previous = n;
-				
+
 				//Stop execution as soon as the destination is found
-				if(currentKey.compareTo(destinationKey) == 0) {
+				if(n == this.destination) {
 					break;
 				}
-				
+
 				//Get all the neigbours of the current node and add them to the stack
-				Node neighbour1 = this.getNeighbour(this.nodes.get(currentKey), DIR.LEFT);
-				if(neighbour1 != null && !neighbour1.isWall) {
-					stack.add(neighbour1);
-				}
-				Node neighbour2 = this.getNeighbour(this.nodes.get(currentKey), DIR.UP);
-				if(neighbour2 != null && !neighbour2.isWall) {
-					stack.add(neighbour2);
-				}
-				Node neighbour3 = this.getNeighbour(this.nodes.get(currentKey), DIR.RIGHT);
-				if(neighbour3 != null && !neighbour3.isWall) {
-					stack.add(neighbour3);
-				}
-				Node neighbour4 = this.getNeighbour(this.nodes.get(currentKey), DIR.DOWN);
-				if(neighbour4 != null && !neighbour4.isWall) {
-					stack.add(neighbour4);
+				this.stats.expand();
+				for(DIR direction : DIRECTIONS) {
+					int neighbour = this.getNeighbour(n, direction);
+					if(neighbour != -1 && !this.grid.isWall(neighbour)) {
+						if(top == stack.length) {
+							stack = Arrays.copyOf(stack, stack.length * 2);
+							this.stack = stack;
+						}
+						stack[top++] = neighbour;
+						this.stats.relax();
+						this.stats.push(top);
+					}
 				}
 			}
-			
-		}
-		
-		ArrayList<Node> path = new ArrayList<Node>();
-		Node prevNode = this.nodes.get(destinationKey);
-		String prevKey = this.generateKey(prevNode);
-		
-		//generate path by visiting previous nodes starting from the destination to the source
-		while(prevKey.compareTo(sourceKey) != 0) {
-			path.add(prevNode);
-			prevNode = prevNode.previous;
-			prevKey = this.generateKey(prevNode);
+
 		}
-		
+
 		//Return the path
-		return path;
+		return this.tracePath();
 	}
-	
-	
+
+
 
 }
@@ -0,0 +1,469 @@
+package pathfindingVisualizer;
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for the delta-stepping shortest path algorithm.
+ * Nodes are kept in buckets of width delta by distance. All nodes of the lowest bucket are
+ * relaxed together on a ForkJoinPool, first along the light edges (cost up to delta) until
+ * the bucket stops changing, then along the heavy edges.
+ * Distances are the same as the ones computed by Dijkstra's algorithm, costs must not be negative.
+ *
+ * The pools are shared by all the objects, one per number of threads, so creating objects does not
+ * start threads, and idle workers end by themselves. With one thread the nodes are relaxed on the
+ * calling thread without any pool.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class DeltaSteppingAlgorithm extends Graph {
+
+	//number of nodes below which a relaxation task is not split any further
+	private static final int SPLIT_THRESHOLD = 512;
+	private static final long INFINITY = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+	//largest number of buckets, the buckets of a run are widened on grids with very expensive cells
+	private static final int MAX_BUCKETS = 1 << 16;
+	//shared pools by number of threads
+	private static final HashMap<Integer, ForkJoinPool> POOLS = new HashMap<Integer, ForkJoinPool>();
+
+	//null when the nodes are relaxed on the calling thread
+	private ForkJoinPool pool;
+	private int parallelism;
+	private double delta;
+	//width of the buckets of the current run, at least delta
+	private double width;
+
+	//tentative distances as raw double bits, infinite between runs
+	private AtomicLongArray distance;
+	//nodes whose distance was lowered in the current relaxation
+	private AtomicIntegerArray updatedRound;
+	private int[] updated;
+	private AtomicInteger updatedCount;
+	//nodes reached in the current run, reset to infinite at the end of the run
+	private int[] reached;
+	private AtomicInteger reachedCount;
+	//nodes already taken from the current bucket in the current round
+	private int[] takenRound;
+	private int round;
+
+	//cyclic array of buckets, bucket number b is stored at b % buckets.length
+	private int[][] buckets;
+	private int[] bucketSizes;
+
+	public DeltaSteppingAlgorithm(ReadOnlyGrid grid) {
+		this(grid, Runtime.getRuntime().availableProcessors());
+	}
+
+	public DeltaSteppingAlgorithm(ReadOnlyGrid grid, int parallelism) {
+		super(grid);
+		int size = this.grid.size();
+		this.delta = 1;
+		this.setParallelism(parallelism);
+		this.distance = new AtomicLongArray(size);
+		for(int i = 0; i < size; i++) {
+			this.distance.set(i, INFINITY);
+		}
+		this.updatedRound = new AtomicIntegerArray(size);
+		this.updated = new int[size];
+		this.updatedCount = new AtomicInteger();
+		this.reached = new int[size];
+		this.reachedCount = new AtomicInteger();
+		this.takenRound = new int[size];
+	}
+
+	/**
+	 * sets the number of threads relaxing the nodes of a bucket
+	 * @param parallelism: number of threads, at least 1
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("the number of threads must be at least 1, not " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.pool = parallelism == 1 ? null : sharedPool(parallelism);
+	}
+
+	/**
+	 * Returns the pool shared by the objects with the same number of threads, creating it if needed
+	 * @param parallelism: number of threads
+	 * @return the pool
+	 */
+	private static ForkJoinPool sharedPool(int parallelism) {
+		synchronized(POOLS) {
+			ForkJoinPool pool = POOLS.get(parallelism);
+			if(pool == null) {
+				pool = new ForkJoinPool(parallelism);
+				POOLS.put(parallelism, pool);
+			}
+			return pool;
+		}
+	}
+
+	/**
+	 * returns the number of threads relaxing the nodes of a bucket
+	 * @return number of threads
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * sets the width of a bucket, edges costing more than delta are relaxed once per bucket.
+	 * A run widens the buckets if the costs of the grid would need more than MAX_BUCKETS of them.
+	 * @param delta: width of a bucket, greater than 0
+	 */
+	public void setDelta(double delta) {
+		if(!(delta > 0) || Double.isInfinite(delta)) {
+			throw new IllegalArgumentException("the width of a bucket must be a positive number, not " + delta);
+		}
+		this.delta = delta;
+	}
+
+	/**
+	 * returns the width of a bucket
+	 * @return width of a bucket
+	 */
+	public double getDelta() {
+		return this.delta;
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		//a node is never inserted more than maxCost + width above the current bucket
+		this.width = Math.max(this.delta, this.grid.maxCost() / MAX_BUCKETS);
+		int bucketCount = (int)Math.ceil(this.grid.maxCost() / this.width) + 2;
+		this.buckets = new int[bucketCount][];
+		this.bucketSizes = new int[bucketCount];
+		int pending = 0;
+
+		this.reachedCount.set(0);
+		this.distance.set(this.source, Double.doubleToRawLongBits(0));
+		this.reached[this.reachedCount.getAndIncrement()] = this.source;
+		this.addToBucket(this.source, 0);
+		pending++;
+		this.stats.push(pending);
+
+		long current = 0;
+		int[] settled = new int[16];
+		//the distances are left infinite for the next run even if a cost is rejected
+		try {
+			while(pending > 0) {
+				//find the lowest bucket that is not empty
+				while(this.bucketSizes[(int)(current % bucketCount)] == 0) {
+					current++;
+				}
+				int slot = (int)(current % bucketCount);
+				int settledCount = 0;
+
+				//relax the light edges until the bucket stops changing
+				while(this.bucketSizes[slot] > 0) {
+					int[] entries = this.buckets[slot];
+					int entryCount = this.bucketSizes[slot];
+					pending -= entryCount;
+					this.stats.pop(entryCount);
+					this.buckets[slot] = null;
+					this.bucketSizes[slot] = 0;
+
+					//keep the nodes still belonging to this bucket, each node once per round
+					this.round++;
+					int nodeCount = 0;
+					for(int i = 0; i < entryCount; i++) {
+						int node = entries[i];
+						if(this.bucketOf(node) == current && this.takenRound[node] != this.round) {
+							this.takenRound[node] = this.round;
+							entries[nodeCount++] = node;
+						}
+					}
+					if(settled.length < settledCount + nodeCount) {
+						settled = Arrays.copyOf(settled, Math.max(settled.length * 2, settledCount + nodeCount));
+					}
+					System.arraycopy(entries, 0, settled, settledCount, nodeCount);
+					settledCount += nodeCount;
+
+					//a node relaxed again in a later round is expanded again
+					this.stats.expand(nodeCount);
+					int added = this.relaxAll(entries, nodeCount, true);
+					pending += added;
+					this.stats.push(added, pending);
+				}
+
+				//relax the heavy edges of all the nodes settled in this bucket once
+				int added = this.relaxAll(settled, settledCount, false);
+				pending += added;
+				this.stats.push(added, pending);
+
+				//Invoke all the registered listeners for the nodes settled in this bucket
+				Arrays.sort(settled, 0, settledCount);
+				for(int i = 0; i < settledCount; i++) {
+					int node = settled[i];
+					if(!this.state.isVisited(node)) {
+						this.state.setVisited(node);
+						this.notifyVisited(node);
+					}
+				}
+
+				//Stop execution as soon as the bucket of the destination is done
+				if(this.distanceOf(this.destination) < (current + 1) * this.width) {
+					break;
+				}
+				//Stop execution when the token says so, the nodes settled so far give the best path
+				if(this.isStopped(settledCount)) {
+					break;
+				}
+				current++;
+			}
+		}
+		finally {
+			//copy the distances into the search state and leave infinite distances for the next run
+			int reachedNodes = this.reachedCount.get();
+			for(int i = 0; i < reachedNodes; i++) {
+				int node = this.reached[i];
+				this.state.setDistance(node, this.distanceOf(node));
+				this.distance.set(node, INFINITY);
+			}
+			this.buckets = null;
+			this.bucketSizes = null;
+		}
+
+		//a search stopped by its token returns the path to the settled node closest to the destination
+		if(this.wasStopped()) {
+			return this.partialPath();
+		}
+
+		//return the path
+		this.linkPath(this.destination);
+		return this.tracePath();
+	}
+
+	@Override
+	//only the settled nodes have their final distance, the path is linked from the distances
+	protected int closestReached() {
+		int destinationX = this.destination / this.columns;
+		int destinationY = this.destination % this.columns;
+		int closest = this.source;
+		int closestDistance = Integer.MAX_VALUE;
+		int reachedNodes = this.reachedCount.get();
+		for(int i = 0; i < reachedNodes; i++) {
+			int node = this.reached[i];
+			if(this.state.isVisited(node)) {
+				int distance = Math.abs(node / this.columns - destinationX) + Math.abs(node % this.columns - destinationY);
+				if(distance < closestDistance) {
+					closest = node;
+					closestDistance = distance;
+				}
+			}
+		}
+		return closest;
+	}
+
+	@Override
+	protected ArrayList<Node> partialPath() {
+		//the parents are only set along the path, from the distances
+		int end = this.closestReached();
+		this.linkPath(end);
+		return this.tracePath(end);
+	}
+
+	/**
+	 * Relaxes the light or heavy edges of the nodes in parallel and adds the lowered nodes to their buckets
+	 * @param nodes: array of the nodes to relax
+	 * @param count: number of nodes in the array
+	 * @param light: true to relax the edges costing up to delta, false for the others
+	 * @return number of nodes added to buckets
+	 */
+	private int relaxAll(int[] nodes, int count, boolean light) {
+		if(count == 0) {
+			return 0;
+		}
+		this.round++;
+		this.updatedCount.set(0);
+		if(this.pool == null || count <= SPLIT_THRESHOLD) {
+			for(int i = 0; i < count; i++) {
+				this.relaxNode(nodes[i], light, this.round);
+			}
+		}
+		else {
+			this.pool.invoke(new RelaxTask(nodes, 0, count, light, this.round));
+		}
+		int updatedNodes = this.updatedCount.get();
+		//the tasks lower each node at most once per round, relaxations of the same node are counted once
+		this.stats.relax(updatedNodes);
+		for(int i = 0; i < updatedNodes; i++) {
+			int node = this.updated[i];
+			this.addToBucket(node, this.bucketOf(node));
+		}
+		return updatedNodes;
+	}
+
+	/**
+	 * A task relaxing the edges of a range of nodes, split in halves while the range is large
+	 */
+	private class RelaxTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int[] nodes;
+		private final int from;
+		private final int to;
+		private final boolean light;
+		private final int round;
+
+		RelaxTask(int[] nodes, int from, int to, boolean light, int round) {
+			this.nodes = nodes;
+			this.from = from;
+			this.to = to;
+			this.light = light;
+			this.round = round;
+		}
+
+		@Override
+		protected void compute() {
+			if(this.to - this.from > SPLIT_THRESHOLD) {
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new RelaxTask(this.nodes, this.from, middle, this.light, this.round),
+						new RelaxTask(this.nodes, middle, this.to, this.light, this.round));
+				return;
+			}
+			for(int i = this.from; i < this.to; i++) {
+				relaxNode(this.nodes[i], this.light, this.round);
+			}
+		}
+	}
+
+	//Lowers the distances of the neighbours of a node along its light or heavy edges
+	private void relaxNode(int node, boolean light, int round) {
+		double nodeDistance = this.distanceOf(node);
+		for(DIR direction : DIRECTIONS) {
+			int neighbour = this.getNeighbour(node, direction);
+			if(neighbour == -1 || this.grid.isWall(neighbour)) {
+				continue;
+			}
+			double cost = this.grid.cost(neighbour);
+			//a negative cost would lower a node into a bucket already done
+			if(!(cost >= 0)) {
+				throw new IllegalStateException("delta-stepping needs costs of at least 0, cell " + neighbour + " costs " + cost);
+			}
+			if((cost <= this.width) != light) {
+				continue;
+			}
+			double newDistance = nodeDistance + cost;
+			//lower the neighbour's distance atomically, another thread may be lowering it too
+			while(true) {
+				long old = this.distance.get(neighbour);
+				if(newDistance >= Double.longBitsToDouble(old)) {
+					break;
+				}
+				if(this.distance.compareAndSet(neighbour, old, Double.doubleToRawLongBits(newDistance))) {
+					if(old == INFINITY) {
+						this.reached[this.reachedCount.getAndIncrement()] = neighbour;
+					}
+					if(this.updatedRound.getAndSet(neighbour, round) != round) {
+						this.updated[this.updatedCount.getAndIncrement()] = neighbour;
+					}
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the parents along one shortest path from a reached node back to the source.
+	 * Each node takes the first neighbour, in the order of DIRECTIONS, whose distance plus
+	 * the node's cost equals the node's distance and is less than it.
+	 * Nodes costing 0 may have no such neighbour, the nodes at the same distance are then
+	 * searched breadth first for one that has.
+	 * @param end: index of the node the path ends at
+	 */
+	private void linkPath(int end) {
+		int current = end;
+		if(this.state.getDistance(current) == Double.POSITIVE_INFINITY) {
+			return;
+		}
+		while(current != this.source) {
+			int parent = this.lowerParent(current);
+			if(parent != -1) {
+				this.state.setParent(current, parent);
+				current = parent;
+				continue;
+			}
+			//cross the nodes at the same distance, remembering where each one was found from
+			HashMap<Integer,Integer> foundFrom = new HashMap<Integer,Integer>();
+			ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+			foundFrom.put(current, -1);
+			queue.add(current);
+			int exit = -1;
+			while(!queue.isEmpty() && exit == -1) {
+				int node = queue.poll();
+				for(DIR direction : DIRECTIONS) {
+					int neighbour = this.getNeighbour(node, direction);
+					if(neighbour != -1 && !this.grid.isWall(neighbour) && !foundFrom.containsKey(neighbour)
+							&& this.state.getDistance(neighbour) + this.grid.cost(node) == this.state.getDistance(node)) {
+						foundFrom.put(neighbour, node);
+						if(neighbour == this.source || this.lowerParent(neighbour) != -1) {
+							exit = neighbour;
+							break;
+						}
+						queue.add(neighbour);
+					}
+				}
+			}
+			//every reached node is connected to the source, this only guards against a broken state
+			if(exit == -1) {
+				return;
+			}
+			for(int node = exit; node != current; ) {
+				int child = foundFrom.get(node);
+				this.state.setParent(child, node);
+				node = child;
+			}
+			current = exit;
+		}
+	}
+
+	//Returns the first neighbour through which the node got its distance from a lower one, -1 if there is none
+	private int lowerParent(int node) {
+		double distance = this.state.getDistance(node);
+		double cost = this.grid.cost(node);
+		for(DIR direction : DIRECTIONS) {
+			int neighbour = this.getNeighbour(node, direction);
+			if(neighbour != -1 && !this.grid.isWall(neighbour)) {
+				double neighbourDistance = this.state.getDistance(neighbour);
+				if(neighbourDistance < distance && neighbourDistance + cost == distance) {
+					return neighbour;
+				}
+			}
+		}
+		return -1;
+	}
+
+	//Adds a node to the bucket with the given number
+	private void addToBucket(int node, long bucket) {
+		int slot = (int)(bucket % this.buckets.length);
+		int[] entries = this.buckets[slot];
+		if(entries == null) {
+			entries = new int[16];
+			this.buckets[slot] = entries;
+		}
+		else if(this.bucketSizes[slot] == entries.length) {
+			entries = Arrays.copyOf(entries, entries.length * 2);
+			this.buckets[slot] = entries;
+		}
+		entries[this.bucketSizes[slot]++] = node;
+	}
+
+	//Returns the number of the bucket of a node from its current distance
+	private long bucketOf(int node) {
+		return (long)(this.distanceOf(node) / this.width);
+	}
+
+	//Returns the current distance of a node
+	private double distanceOf(int node) {
+		return Double.longBitsToDouble(this.distance.get(node));
+	}
+
+}
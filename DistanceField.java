@@ -0,0 +1,153 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class holds the result of one search from a destination over the whole grid:
+ * the cost of the shortest path from every cell to the destination and the direction
+ * of the first step of that path.
+ * A path from any source is then read by following the directions, without searching again,
+ * which pays off when many sources go to the same destination.
+ *
+ * The search runs Dijkstra's algorithm backwards, moving from a node to its neighbour
+ * costs the node's cost, so the distances are the same as the ones of a forward search.
+ * Distances are stored as floats and directions as one byte per cell.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class DistanceField {
+	//moves along each direction, in the order of Graph.DIRECTIONS: left, up, right, down
+	private static final int[] DX = {0, -1, 0, 1};
+	private static final int[] DY = {-1, 0, 1, 0};
+	//no step for the destination and the cells that can not reach it
+	private static final byte NO_STEP = -1;
+
+	private ReadOnlyGrid grid;
+	private int destination;
+	//version of the grid the field was computed on
+	private long version;
+	private float[] distance;
+	//ordinal of the direction of the first step towards the destination
+	private byte[] step;
+
+	/**
+	 * argumented constructor, runs the search
+	 * @param grid: the grid to search
+	 * @param destination: index of the destination
+	 */
+	public DistanceField(ReadOnlyGrid grid, int destination) {
+		this.grid = grid;
+		this.destination = destination;
+		this.version = grid.getVersion();
+		int size = grid.size();
+		int rows = grid.getRows();
+		int columns = grid.getColumns();
+		this.distance = new float[size];
+		this.step = new byte[size];
+		Arrays.fill(this.distance, Float.POSITIVE_INFINITY);
+		Arrays.fill(this.step, NO_STEP);
+
+		//exact distances, they are only stored as floats once settled
+		double[] exact = new double[size];
+		Arrays.fill(exact, Double.POSITIVE_INFINITY);
+		IndexedMinHeap queue = new IndexedMinHeap(size);
+		if(grid.isWall(destination)) {
+			return;
+		}
+		exact[destination] = 0;
+		queue.insert(destination, 0);
+
+		//Loop through the queue removing the node with the minimum distance
+		//and evaluate the distances of its neighbours through it
+		while(!queue.isEmpty()) {
+			int current = queue.poll();
+			this.distance[current] = (float)exact[current];
+			int x = current / columns;
+			int y = current % columns;
+			//moving from the neighbour to the current node costs the current node's cost
+			double newDistance = exact[current] + grid.cost(current);
+			for(int d = 0; d < DX.length; d++) {
+				int nx = x + DX[d];
+				int ny = y + DY[d];
+				if(nx < 0 || ny < 0 || nx >= rows || ny >= columns) {
+					continue;
+				}
+				int neighbour = nx * columns + ny;
+				if(grid.isWall(neighbour) || newDistance >= exact[neighbour]) {
+					continue;
+				}
+				if(queue.contains(neighbour)) {
+					queue.decreaseKey(neighbour, newDistance);
+				}
+				else {
+					queue.insert(neighbour, newDistance);
+				}
+				exact[neighbour] = newDistance;
+				//the neighbour steps back in the opposite direction
+				this.step[neighbour] = (byte)((d + 2) % DX.length);
+			}
+		}
+	}
+
+	/**
+	 * Returns the path from a source to the destination by following the directions
+	 * @param x: row of the source
+	 * @param y: column of the source
+	 * @return an array list of nodes from the destination to the source (excluded), as returned by findPath,
+	 * empty if the source can not reach the destination
+	 */
+	public ArrayList<Node> pathFrom(int x, int y) {
+		ArrayList<Node> path = new ArrayList<Node>();
+		int current = this.grid.index(x, y);
+		if(this.distance[current] == Float.POSITIVE_INFINITY) {
+			return path;
+		}
+		int columns = this.grid.getColumns();
+		while(current != this.destination) {
+			int d = this.step[current];
+			current = (current / columns + DX[d]) * columns + current % columns + DY[d];
+			path.add(new Node(current / columns, current % columns));
+		}
+		//the steps were added from the source
+		for(int i = 0, j = path.size() - 1; i < j; i++, j--) {
+			Node swap = path.get(i);
+			path.set(i, path.get(j));
+			path.set(j, swap);
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the cost of the shortest path from a cell to the destination
+	 * @param index: index of the cell
+	 * @return the cost, infinite if the cell can not reach the destination
+	 */
+	public float getDistance(int index) {
+		return this.distance[index];
+	}
+
+	/**
+	 * Returns the direction of the first step from a cell towards the destination
+	 * @param index: index of the cell
+	 * @return ordinal of the direction in Graph.DIRECTIONS, -1 for the destination and the cells that can not reach it
+	 */
+	public int getStep(int index) {
+		return this.step[index];
+	}
+
+	/**
+	 * Returns the index of the destination
+	 * @return index of the destination
+	 */
+	public int getDestination() {
+		return this.destination;
+	}
+
+	/**
+	 * Returns true if the grid did not change since the field was computed
+	 * @return true if the field is up to date
+	 */
+	public boolean isCurrent() {
+		return this.grid.getVersion() == this.version;
+	}
+}
@@ -0,0 +1,11 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An enum class of search frontiers
+ * Bidirectional searches tag each visit with the side that produced it
+ */
+enum FRONTIER {
+	FORWARD,
+	BACKWARD
+}
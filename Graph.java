@@ -4,26 +4,43 @@ package pathfindingVisualizer;
  * @author Aayushi Pandey
  */
 import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * A listener to be called when a node is visited
  */
 interface NodeVisitedListener{
 	public void nodeVisited(int x, int y);
+
+	/**
+	 * Called when a node is visited by one side of a bidirectional search,
+	 * by default the frontier is ignored
+	 */
+	public default void nodeVisited(int x, int y, FRONTIER frontier) {
+		nodeVisited(x, y);
+	}
 }
 
 /**
  * A class to define the basic model/structure of the graph.
+ * Cells are addressed by their index in the grid (row * columns + column).
  */
 public abstract class Graph {
-	protected HashMap<String,Node> nodes;
-	protected Node source;
-	protected Node destination;
+	protected ReadOnlyGrid grid;
+	protected SearchState state;
+	protected int source;
+	protected int destination;
 	protected int rows;
 	protected int columns;
 	protected ArrayList<NodeVisitedListener> listeners;
-	
+	//counters of the current or last search
+	protected SearchStats stats;
+	//token of the running search, null when the search cannot be stopped
+	private SearchToken token;
+	//loop iterations left before the token is polled again
+	private int checkCountdown;
+	//true if the last search was stopped before it was done
+	private boolean stopped;
+
 	/**
 	 * An enum class of directions
 	 * This class defines possible directions to find a neighbour node in
@@ -34,200 +51,296 @@ public abstract class Graph {
 		RIGHT,
 		DOWN
 	}
-	
+
+	//directions in the order neighbours are evaluated
+	protected static final DIR[] DIRECTIONS = DIR.values();
+	//loop iterations between two polls of the token, reading the clock on every node would slow the search down
+	private static final int CHECK_INTERVAL = 1024;
+
 	/**
 	 * argumented constructor
-	 * @param rows : number of rows
-	 * @param columns: number of columns
+	 * @param grid: grid the algorithm searches, shared with the other algorithms
 	 */
-	public Graph(int rows, int columns) {
+	public Graph(ReadOnlyGrid grid) {
 		//an array list of node visited listeners
 		this.listeners = new ArrayList<NodeVisitedListener>();
-		this.rows = rows;
-		this.columns = columns;
-		this.nodes = new HashMap<String,Node>();
-		for(int i = 0; i < this.rows; i++) {
-			for(int j = 0; j < this.columns; j++) {
-				Node node = new Node(i,j);
-				String key = generateKey(node);
-				nodes.put(key, node);			
-			}
+		this.grid = grid;
+		this.rows = grid.getRows();
+		this.columns = grid.getColumns();
+		this.state = new SearchState(this.grid.size(), this.columns);
+		this.stats = new SearchStats();
+		this.source = -1;
+		this.destination = -1;
+	}
+
+	/**
+	 * Returns the grid the algorithm searches
+	 * @return the grid
+	 */
+	public ReadOnlyGrid getGrid() {
+		return this.grid;
+	}
+
+	/**
+	 * Makes the algorithm search another grid of the same size, such as a newer snapshot.
+	 * The scratch arrays are kept, the algorithms drop only what they computed from cells that may have changed.
+	 * @param grid: the grid to search
+	 */
+	public void setGrid(ReadOnlyGrid grid) {
+		if(grid.getRows() != this.rows || grid.getColumns() != this.columns) {
+			throw new IllegalArgumentException("the grid must have " + this.rows + " rows and " + this.columns + " columns");
 		}
+		this.grid = grid;
 	}
-	
+
 	/**
 	 * sets the source node in the graph
 	 * @param x: x coordinate of the source
 	 * @param y: y coordinate of the source
 	 */
 	public void setSource(int x, int y) {
-		String key = this.generateKey(x,y);
-		Node node = this.nodes.get(key);
-		this.source = node;
+		this.source = this.grid.index(x, y);
 	}
-	
-	
+
+
 	/**
-	 * sets the destination node in the graph 
+	 * sets the destination node in the graph
 	 * @param x: x coordinate of the destination
 	 * @param y: y coordinate of the destination
 	 */
 	public void setDestination(int x, int y) {
-		String key = this.generateKey(x,y);
-		Node node = this.nodes.get(key);
-		this.destination = node;
+		this.destination = this.grid.index(x, y);
 	}
-	
+
 	/**
-	 * Updates the wall node in the graph 
-	 * @param x: x coordinate of the wall node
-	 * @param y: y coordinate of the wall node
+	 * Adds node visited listener to the listeners array list
+	 * @param listener: listener for the graph
 	 */
-	public void setWall(int x, int y) {
-		String key = this.generateKey(x,y);
-		Node node = this.nodes.get(key);
-		node.isWeightNode = false;
-		node.isWall = !node.isWall;
+	public void addNodeVisitedListener(NodeVisitedListener listener) {
+		this.listeners.add(listener);
 	}
-	
+
 	/**
-	 * Updates weight of the node at x and y
-	 * @param x: x coordinate of the node
-	 * @param y: y coordinate of the node
+	 * Returns the index of the neighbour at specified direction of a node
+	 * @param index: index of the node whose neighbour to return
+	 * @param direction: neighbour's direction
+	 * @return index of the neigbour node at direction, -1 if it is outside the grid
 	 */
-	public void setWeight(int x, int y) {
-		String key = this.generateKey(x,y);
-		Node node = this.nodes.get(key);
-		node.isWall = false;
-		node.isWeightNode = !node.isWeightNode;
-		node.weight = node.isWeightNode ? 15 : Double.POSITIVE_INFINITY;
+	public int getNeighbour(int index, DIR direction) {
+		switch(direction) {
+			//if the direction is LEFT
+			case LEFT:
+				//if the node is in the first column then return -1
+				return index % this.columns == 0 ? -1 : index - 1;
+
+			//if the direction is UP
+			case UP:
+				//if the node is in the first row then return -1
+				return index < this.columns ? -1 : index - this.columns;
+
+			//if the direction is RIGHT
+			case RIGHT:
+				//if the node is in the last column then return -1
+				return index % this.columns == this.columns - 1 ? -1 : index + 1;
+
+			//if the direction id DOWN
+			case DOWN:
+				//if the node is in the last row then return -1
+				return index >= this.grid.size() - this.columns ? -1 : index + this.columns;
+
+			//if the direction is not correct, return -1
+			default:
+				return -1;
+		}
 	}
-	
+
 	/**
-	 * Adds node visited listener to the listeners array list
-	 * @param listener: listener for the graph
+	 * Invokes all the registered listeners for the node at index
+	 * @param index: index of the visited node
 	 */
-	public void addNodeVisitedListener(NodeVisitedListener listener) {
-		this.listeners.add(listener);
+	protected void notifyVisited(int index) {
+		int x = index / this.columns;
+		int y = index % this.columns;
+		for(NodeVisitedListener listener : this.listeners) {
+			listener.nodeVisited(x, y);
+		}
 	}
-	
+
 	/**
-	 * Creates key of format "0x0y" for the coordinates x and y
-	 * @param x: x coordinate
-	 * @param y: y coordinate
-	 * @return key in the format "0x0y"
+	 * Invokes all the registered listeners for the node at index, visited by the frontier
+	 * @param index: index of the visited node
+	 * @param frontier: side of the search that visited the node
 	 */
-	public String generateKey(int x, int y) {
-		return String.format("%02d", x) + String.format("%02d", y);
+	protected void notifyVisited(int index, FRONTIER frontier) {
+		int x = index / this.columns;
+		int y = index % this.columns;
+		for(NodeVisitedListener listener : this.listeners) {
+			listener.nodeVisited(x, y, frontier);
+		}
 	}
-	
+
 	/**
-	 * Creates and returns key of format "0x0y" of a given node
-	 * @param node: a node to get its key
-	 * @return key of the node
+	 * Generates the path by visiting parents starting from the destination to the source
+	 * @return an array list of nodes from the destination to the source (excluded),
+	 * empty if the destination was not reached
 	 */
-	public String generateKey(Node node) {
-		return String.format("%02d", node.x) + String.format("%02d", node.y);
+	protected ArrayList<Node> tracePath() {
+		return this.tracePath(this.destination);
 	}
-	
 
 	/**
-	 * Returns a neighbour at specified direction of a node
-	 * @param node: a node whose neighbour to return
-	 * @param direction: neighbour's direction
-	 * @return neigbour node of the node at direction
+	 * Generates the path by visiting parents starting from a node to the source
+	 * @param end: index of the node the path ends at
+	 * @return an array list of nodes from end to the source (excluded),
+	 * empty if end was not reached
 	 */
-	public Node getNeighbour(Node node, DIR direction) {
-		String neighbourKey = "";
-		
-		switch(direction) {
-			//if the direction is LEFT
-			case LEFT:
-				//if the y coordinate of the node 0 (it is in the first column) then return null
-				if(node.y == 0) {
-					return null;
-				}
-				//get the key of the left neighbour node (at x and y-1) of the node 
-				neighbourKey = this.generateKey(node.x, node.y-1);
+	protected ArrayList<Node> tracePath(int end) {
+		ArrayList<Node> path = new ArrayList<Node>();
+		int current = end;
+		while(current != this.source) {
+			//the destination is not connected to the source
+			if(current == -1) {
+				path.clear();
 				break;
-				
-			//if the direction is UP	
-			case UP:
-				//if the x coordinate of the node is 0 (it is in the first row) then return null
-				if(node.x == 0) {
-					return null;
-				}
-				//get the key of the up neighbour node (at x-1 and y) of the node 
-				neighbourKey = this.generateKey(node.x - 1, node.y);
-				break;
-				
-			//if the direction is RIGHT	
-			case RIGHT:
-				//if the y coordinate of the node is columns-1 (it is in the last column) then return null
-				if(node.y == this.columns - 1) {
-					return null;
-				}
-				//get the key of the right neighbour node (at x and y+1) of the node
-				neighbourKey = this.generateKey(node.x, node.y + 1);
-				break;
-				
-			//if the direction id DOWN	
-			case DOWN:
-				//if the x coordinate of the node is rows-1 (it is in the last row) then return null
-				if(node.x == this.rows - 1) {
-					return null;
+			}
+			path.add(new Node(current / this.columns, current % this.columns));
+			current = this.state.getParent(current);
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the reached node closest to the destination, by Manhattan distance
+	 * @return index of the node, the source if no other node was reached
+	 */
+	protected int closestReached() {
+		int destinationX = this.destination / this.columns;
+		int destinationY = this.destination % this.columns;
+		int closest = this.source;
+		int closestDistance = Integer.MAX_VALUE;
+		for(int i = 0; i < this.grid.size(); i++) {
+			if(this.state.isReached(i)) {
+				int distance = Math.abs(i / this.columns - destinationX) + Math.abs(i % this.columns - destinationY);
+				if(distance < closestDistance) {
+					closest = i;
+					closestDistance = distance;
 				}
-				//get the key of the down neighbour node (at x+1 and y) of the node 
-				neighbourKey = this.generateKey(node.x + 1, node.y);
-				break;
-			
-			//if the direction is not correct, return null
-			default:
-				return null;
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Returns the best result of a search stopped before it was done:
+	 * the path to the reached node closest to the destination
+	 * @return an array list of nodes from that node to the source (excluded)
+	 */
+	protected ArrayList<Node> partialPath() {
+		return this.tracePath(this.closestReached());
+	}
+
+	/**
+	 * Returns true if the search must stop. Called once per iteration of the main loop,
+	 * the token is only polled every CHECK_INTERVAL calls.
+	 * @return true if the token was cancelled or its deadline passed
+	 */
+	protected boolean isStopped() {
+		return this.isStopped(1);
+	}
+
+	/**
+	 * Returns true if the search must stop, for loops whose iterations handle many nodes at once.
+	 * The token is polled once CHECK_INTERVAL nodes are handled.
+	 * @param nodes: number of nodes handled since the last call
+	 * @return true if the token was cancelled or its deadline passed
+	 */
+	protected boolean isStopped(int nodes) {
+		this.checkCountdown -= nodes;
+		if(this.token == null || this.checkCountdown > 0) {
+			return this.stopped;
+		}
+		this.checkCountdown = CHECK_INTERVAL;
+		this.stopped = this.token.isStopped();
+		return this.stopped;
+	}
+
+	/**
+	 * Returns the bounding box of the cells the last search reached.
+	 * Together with their neighbours, these are the only cells whose walls and costs the search depends on.
+	 * @return {minRow, minColumn, maxRow, maxColumn}, minRow > maxRow if no cell was reached
+	 */
+	public int[] getExploredBounds() {
+		return this.state.getBounds();
+	}
+
+	/**
+	 * Returns true if the last search was stopped by its token, its path does not reach the destination then
+	 * @return true if the last search was stopped
+	 */
+	public boolean wasStopped() {
+		return this.stopped;
+	}
+
+	/**
+	 * Returns a path between the source and destination node, the search stops when the token says so
+	 * @param token: token of the search, checked while the search runs, null if the search can not be stopped
+	 * @return an array list of nodes in path from source to destination node,
+	 * or to the reached node closest to the destination if the search was stopped
+	 */
+	public ArrayList<Node> findPath(SearchToken token) {
+		this.token = token;
+		this.stopped = false;
+		//the first iteration polls the token, a search may be cancelled before it starts
+		this.checkCountdown = 1;
+		this.stats.begin();
+		try {
+			ArrayList<Node> path = this.findPath();
+			this.stats.end(path, this.grid);
+			return path;
+		}
+		finally {
+			this.token = null;
 		}
-			
-		// return the node at neighbourKey
-		return this.nodes.get(neighbourKey);
-		
 	}
-	
+
 	/**
-	 * Resets isVisited and weights of all nodes
+	 * Returns the counters of the last search. Time, allocations and path are only measured
+	 * by findPath(SearchToken), the object is reused by the next search.
+	 * @return stats of the last search
+	 */
+	public SearchStats getStats() {
+		return this.stats;
+	}
+
+	/**
+	 * Resets isVisited, distances and parents of all nodes in constant time
 	 */
 	public void reset() {
-		 for(Node node : nodes.values()) {
-			 node.isVisited = false;
-			 node.previous = null;
-			 node.weight = node.isWeightNode ? 15 : Double.POSITIVE_INFINITY;
-		 }
+		this.state.clear();
+		this.stats.clear();
+		this.stopped = false;
 	}
-	
+
 	/**
-	 * Clears source, destination and resets all nodes' weights, previous node,
-	 * isWall, isVisited.
+	 * Clears source and destination and resets all nodes' distances, parents and isVisited.
+	 * Walls and weight nodes are edited in the GridModel, the algorithms only read the grid.
 	 */
 	public void clear() {
-		this.source = null;
-		this.destination = null;
-		for(Node node : nodes.values()) {
-			node.isVisited = false;
-			node.previous = null;
-			node.isWall = false;
-			node.isWeightNode = false;
-			node.weight = Double.POSITIVE_INFINITY;
-		}
+		this.source = -1;
+		this.destination = -1;
+		this.state.clear();
 	}
-	
+
 	/**
-	 * Resets weights of all nodes.
+	 * Computes the cost of the shortest path from every cell to the destination node at once,
+	 * paths from any source are then read from the field without searching.
+	 * The field uses the costs of the cells even for the algorithms that ignore them.
+	 * @return the distance field of the destination
 	 */
-	public void clearWeight() {
-		for(Node node : nodes.values()) {
-			 node.weight = Double.POSITIVE_INFINITY;
-			 node.isWeightNode = false;
-		 }
+	public DistanceField findDistanceField() {
+		return new DistanceField(this.grid, this.destination);
 	}
-	
+
 	/**
 	 * An abstract method, which is implemented in sub classes.
 	 * Returns a path between the source and destination node.
@@ -5,20 +5,53 @@ package pathfindingVisualizer;
  * A controller class controlling communications between the view and algorithm implementations
  */
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JFrame;
+import javax.swing.SwingWorker;
 
 public class GraphController implements NodeVisitedListener, ViewListener{
 	
 	//GraphView object, view creates a GUI window
 	private GraphView view;
 	
-	//Algorithms' objects
-	private DijkstraAlgorithm dijkstra;
-	private BFSAlgorithm bfs;
-	private DFSAlgorithm dfs;
-	private BellmanFordAlgorithm bellmanFord;
+	//grid shared by all the algorithms
+	private GridModel grid;
+	
+	//Algorithms' objects, created the first time each algorithm is run,
+	//since every object holds scratch arrays as large as the grid
+	private EnumMap<ALGORITHMS, Graph> algorithms;
+	
+	//records the visits of the running algorithm, replayed by the view afterwards
+	private SearchTrace trace;
+	
+	//results of the recent searches, repeated queries are replayed without searching
+	private PathCache cache;
+	//largest number of searches kept in the cache
+	private static final int CACHE_CAPACITY = 256;
+	
+	//counters of the recent runs, published as an MXBean
+	private SearchMetrics metrics;
+	//number of runs the rolling values are computed over
+	private static final int METRICS_WINDOW = 100;
+	
+	//runs several algorithms at once in race mode
+	private AlgorithmRace race;
+	
+	//true while the view shows the distance field of the destination
+	private boolean heatmap;
+	//true while a distance field is computed off the event dispatch thread
+	private boolean heatmapRunning;
+	//true if the grid or the destination changed while the field was computed
+	private boolean heatmapPending;
+	
+	//token of the running algorithm, cancelled from the event dispatch thread by the Stop button
+	private volatile SearchToken token;
 	
 	/**
 	 * Unargumented constructor
@@ -36,40 +69,49 @@ public class GraphController implements NodeVisitedListener, ViewListener{
 		view.addViewLisnter(this);
 		
 		
-		//Grid rows and columns
-		int rows = view.getRows();
-		int columns = view.getColumns();
-		
-		
-		//Instantiate the dijkstra object
-		dijkstra = new DijkstraAlgorithm(rows, columns);
-		//add controller as Node Visited Listener for the dijkstra object
-		dijkstra.addNodeVisitedListener(this);
+		//Instantiate the grid with the view's rows and columns, walls and weights are stored only here
+		grid = new GridModel(view.getRows(), view.getColumns());
+		cache = new PathCache(grid, CACHE_CAPACITY);
+		metrics = new SearchMetrics(METRICS_WINDOW);
+		metrics.register();
+		race = new AlgorithmRace(grid);
 		
-		//Instantiate the bfs object
-		bfs = new BFSAlgorithm(rows, columns);
-		//add controller as Node Visited Listener for the bfs object
-		bfs.addNodeVisitedListener(this);
-		
-		//Instantiate the dfs object
-		dfs = new DFSAlgorithm(rows, columns);
-		//add controller as Node Visited Listener for the dfs object
-		dfs.addNodeVisitedListener(this);
-		
-		//Instantiate the bellmanFord object
-		bellmanFord = new BellmanFordAlgorithm(rows, columns);
-		//add controller as Node Visited Listener for the bellmanFord object
-		bellmanFord.addNodeVisitedListener(this);
+		//the algorithms' objects are created when they are first run
+		algorithms = new EnumMap<ALGORITHMS, Graph>(ALGORITHMS.class);
+	}
+	
+	/**
+	 * Returns the object of an algorithm on the shared grid, it is instantiated the first time the algorithm is run
+	 * @param algorithm: the algorithm
+	 * @return the algorithm's object
+	 */
+	private Graph getAlgorithm(ALGORITHMS algorithm) {
+		Graph graph = algorithms.get(algorithm);
+		if(graph == null) {
+			graph = algorithm.create(grid);
+			//add controller as Node Visited Listener for the algorithm's object
+			graph.addNodeVisitedListener(this);
+			algorithms.put(algorithm, graph);
+		}
+		return graph;
 	}
 	
 	@Override
 	/**
 	 * Implements NodeVisitedListener's method nodeVisited.
-	 * Calls view's visitCell method to highlight the cell being visited by the algorithm
-	 * in the GUI.
+	 * Records the visit, the view replays it once the algorithm is done.
 	 */
 	public void nodeVisited(int x, int y) {
-		view.visitCell(x, y);		
+		trace.addVisit(x, y, false);
+	}
+	
+	@Override
+	/**
+	 * Implements NodeVisitedListener's method nodeVisited for bidirectional searches.
+	 * Records the visit with its frontier, the view replays it in the color of the frontier.
+	 */
+	public void nodeVisited(int x, int y, FRONTIER frontier) {
+		trace.addVisit(x, y, frontier == FRONTIER.BACKWARD);
 	}
 	
 	@Override
@@ -81,6 +123,18 @@ public class GraphController implements NodeVisitedListener, ViewListener{
 		this.run();		
 	}
 	
+	@Override
+	/**
+	 * Implements ViewListener's method stopAlgorithm.
+	 * Cancels the running algorithm, which returns the best path found so far.
+	 */
+	public void stopAlgorithm() {
+		SearchToken running = token;
+		if(running != null) {
+			running.cancel();
+		}
+	}
+	
 	@Override
 	/**
 	 * Implements ViewListener's method setWall.
@@ -112,7 +166,7 @@ public class GraphController implements NodeVisitedListener, ViewListener{
 	/**
 	 * Implements ViewListener's method resetWeight.
 	 * This method calls the resetWeights method to reset node weight 
-	 * for the dijkstra and bellmanFord objects.
+	 * for the weighted algorithms' objects.
 	 */
 	public void resetWeight() {
 		this.resetWeights();		
@@ -122,147 +176,231 @@ public class GraphController implements NodeVisitedListener, ViewListener{
 	/**
 	 * Implements ViewListener's method setWeight.
 	 * This method calls the setWeight method to set node weight 
-	 * for the dijkstra and bellmanFord objects.
+	 * for the weighted algorithms' objects.
 	 */
 	public void setWeight(int x, int y) {
 		this.setNodeWeight(x, y);
 		
 	}
 	
+	@Override
+	/**
+	 * Implements ViewListener's method loadGrid.
+	 * Reads the grid file, drops the algorithms' objects of the previous grid
+	 * and asks the view to show it.
+	 */
+	public void loadGrid(Path path) throws IOException {
+		GridIO.GridFile file = GridIO.read(path);
+		grid = file.grid;
+		cache = new PathCache(grid, CACHE_CAPACITY);
+		race = new AlgorithmRace(grid);
+		//the objects of the previous grid are dropped
+		algorithms = new EnumMap<ALGORITHMS, Graph>(ALGORITHMS.class);
+		view.showGrid(grid, file.source, file.destination);
+		this.updateHeatmap();
+	}
+	
+	@Override
+	/**
+	 * Implements ViewListener's method saveGrid.
+	 * Writes the grid with the view's source and destination in the binary format.
+	 */
+	public void saveGrid(Path path) throws IOException {
+		Node source = view.getSource();
+		Node destination = view.getDestination();
+		GridIO.writeBinary(path, grid,
+				source == null ? -1 : grid.index(source.x, source.y),
+				destination == null ? -1 : grid.index(destination.x, destination.y));
+	}
+	
+	@Override
+	/**
+	 * Implements ViewListener's method setHeatmap.
+	 * Computes the distance field of the view's destination and asks the view to show it.
+	 */
+	public void setHeatmap(boolean shown) {
+		heatmap = shown;
+		this.updateHeatmap();
+	}
+	
+	/**
+	 * Computes the distance field again after the grid or the destination changed,
+	 * the view hides the heatmap if it is turned off or there is no destination.
+	 * The field is computed on a snapshot off the event dispatch thread, one at a time:
+	 * edits made meanwhile, such as the cells of a drag, are covered by a single field computed afterwards.
+	 * Called on the event dispatch thread.
+	 */
+	private void updateHeatmap() {
+		Node destination = view.getDestination();
+		if(!heatmap || destination == null) {
+			view.showHeatmap(null);
+			return;
+		}
+		if(heatmapRunning) {
+			heatmapPending = true;
+			return;
+		}
+		heatmapRunning = true;
+		final GridSnapshot snapshot = grid.snapshot();
+		final int target = grid.index(destination.x, destination.y);
+		SwingWorker<DistanceField, Void> worker = new SwingWorker<DistanceField, Void>() {
+			@Override
+			protected DistanceField doInBackground() {
+				return new DistanceField(snapshot, target);
+			}
+			
+			@Override
+			protected void done() {
+				heatmapRunning = false;
+				//the field is out of date, the newest grid is searched instead
+				if(heatmapPending) {
+					heatmapPending = false;
+					updateHeatmap();
+					return;
+				}
+				//the heatmap may have been turned off meanwhile
+				if(!heatmap || view.getDestination() == null) {
+					return;
+				}
+				try {
+					view.showHeatmap(get());
+				}
+				catch(InterruptedException | ExecutionException e) {
+					throw new IllegalStateException("the distance field could not be computed", e);
+				}
+			}
+		};
+		worker.execute();
+	}
+	
 	/**
 	 * Calls findPath method of the user specified algorithm
 	 * to get the path between the source and destination
-	 * and then asks the view to highlight the path in the GUI.
+	 * and then asks the view to replay the visits and the path in the GUI.
 	 */
 	public void run() {
 
 		// Get the user set source
-		Cell source = view.getSource();
+		Node source = view.getSource();
 		//get the user set destination
-		Cell destination = view.getDestination();
+		Node destination = view.getDestination();
 		//get the user chosen algorithm
 		ALGORITHMS algorithm = view.getSelectedAlgorithm();
 		
-		//An array list of node to store the path between the source and destination
-		ArrayList<Node> nodePath = new ArrayList<Node>();
+		//in race mode the chosen algorithms run at once and are compared side by side
+		if(view.isRaceMode()) {
+			this.runRace(grid.index(source.x, source.y), grid.index(destination.x, destination.y));
+			return;
+		}
 		
-	
-		switch(algorithm) {
-			//If Dijkstra is selected
-			case DIJKSTRA:
-				//set the source for the dijkstra object
-				dijkstra.setSource(source.x, source.y);
-				//set the destination for the dijkstra object
-				dijkstra.setDestination(destination.x, destination.y);
-				//call the findPath method to get the path between the source and destination
-				nodePath = dijkstra.findPath();	
-				break;
-			
-			//if BFS is selected
-			case BFS:
-				//set the source for the bfs object
-				bfs.setSource(source.x, source.y);
-				//set the destination for the bfs object
-				bfs.setDestination(destination.x, destination.y);
-				//call the findPath method to get the path between the source and destination
-				nodePath = bfs.findPath();	
-				break;
-
-			//if DFS is selected
-			case DFS:
-				//set the source for the dfs object
-				dfs.setSource(source.x, source.y);
-				//set the destination for the dfs object
-				dfs.setDestination(destination.x, destination.y);
-				//call the findPath method to get the path between the source and destination
-				nodePath = dfs.findPath();	
-				break;
-			
-			//if bellmanFord is selected
-			case BELLMANFORD: 
-				//set the source for the bellmanFord object
-				bellmanFord.setSource(source.x, source.y);
-				//set the destination for the bellmanFord object
-				bellmanFord.setDestination(destination.x, destination.y);
-				//call the findPath method to get the path between the source and destination
-				nodePath = bellmanFord.findPath();
-				break;
-			
+		//a search already run on the same part of the grid is replayed from the cache
+		PathCache.Entry cached = cache.get(algorithm, grid.index(source.x, source.y), grid.index(destination.x, destination.y));
+		if(cached != null && cached.trace != null) {
+			//the search is not run again, the stats it had when it was cached are shown
+			metrics.recordCacheHit();
+			view.showStats(algorithm, cached.stats, true, metrics.getRollingMean(), metrics.getWindowSize());
+			trace = cached.trace;
+			view.replay(trace);
+			return;
 		}
-
-		//An array of Cell to store the path computed by an algorithm
-		Cell[] cellPath = new Cell[nodePath.size()];
 		
-		//Iterate through the nodePath
-        for(int i = 0; i < nodePath.size(); i++) {
-        
-        	//get the x coordinator
-            int x = nodePath.get(i).x;
-            //get the y coordinator
-            int y = nodePath.get(i).y;
-            
-            //get the cell at x and y
-            Cell cell = view.getCell(x, y);
-            //set isPath to true to highlight the cell t=yellow
-            cell.isPath = true;
-            //set isVisited false to remove the cyan color
-            cell.isVisited = false;
-            //add the cell to cellPath in revverse order
-            cellPath[nodePath.size() - i - 1] = cell;
-        }
-        
-        //call view's drawPath method to highlight the path in GUI
-        view.drawPath(cellPath);
+		//get the object of the chosen algorithm
+		Graph graph = this.getAlgorithm(algorithm);
+		//set the source for the graph object
+		graph.setSource(source.x, source.y);
+		//set the destination for the graph object
+		graph.setDestination(destination.x, destination.y);
+		//the algorithm runs at full speed, its visits and path are recorded
+		trace = new SearchTrace(grid.columns);
+		//call the findPath method to get the path between the source and destination,
+		//or to the node closest to the destination if the search is stopped
+		token = new SearchToken();
+		try {
+			ArrayList<Node> path = graph.findPath(token);
+			trace.setPath(path);
+			cache.put(algorithm, graph, path, trace);
+		}
+		finally {
+			token = null;
+		}
+		metrics.record(algorithm, graph.getStats());
+		view.showStats(algorithm, metrics.getLastRun(), false, metrics.getRollingMean(), metrics.getWindowSize());
+		
+		//ask the view to replay the search at the selected speed
+		view.replay(trace);
 	}
 	
 	/**
-	 * Resets the path and nodeVisisted for all algorithms' object 
-	 * by calling their stopExecution method.
+	 * Runs the algorithms chosen in the view at once, each on its own thread,
+	 * and asks the view to show their searches side by side with a comparison table.
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 */
+	private void runRace(int source, int destination) {
+		//the Stop button stops all the racing algorithms
+		token = new SearchToken();
+		List<AlgorithmRace.Result> results;
+		try {
+			results = race.run(view.getRaceAlgorithms(), source, destination, token);
+		}
+		finally {
+			token = null;
+		}
+		for(AlgorithmRace.Result result : results) {
+			metrics.record(result.algorithm, result.stats);
+		}
+		view.showRace(race.getSnapshot(), results);
+	}
+	
+	/**
+	 * Resets the path and nodeVisisted for the algorithms' objects created so far
+	 * by calling their reset method.
 	 */
 	public void reset() {
-		dijkstra.reset();
-		bfs.reset();
-		dfs.reset();
-		bellmanFord.reset();
+		for(Graph graph : algorithms.values()) {
+			graph.reset();
+		}
 	}
 	
 	/**
-	 * Clears the graph for all algorithms' object by calling their clear method.
+	 * Clears the shared grid and resets the algorithms' objects created so far.
 	 */
 	public void clear() {
-		dijkstra.clear();
-		bfs.clear();
-		dfs.clear();
-		bellmanFord.clear();
+		grid.clear();
+		for(Graph graph : algorithms.values()) {
+			graph.reset();
+		}
+		this.updateHeatmap();
 	}
 	
 	/**
-	 * Updates wall by calling algorithms' setWall method
+	 * Toggles the wall of a node in the shared grid
 	 * @param x: x coordinator of a node
 	 * @param y: y coordinator of a node
 	 */
 	public void setWalls(int x, int y) {
-    	dijkstra.setWall(x, y);
-    	bfs.setWall(x, y);
-    	dfs.setWall(x, y);
-    	bellmanFord.setWall(x, y);
+		grid.toggleWall(grid.index(x, y));
+		cache.cellChanged(grid.index(x, y));
+		this.updateHeatmap();
 	}
 	
 	/**
-	 * Updates node's weight by calling algorithms' setNodeWeight method
+	 * Toggles the weight of a node in the shared grid,
+	 * the unweighted algorithms ignore it
 	 * @param x: x coordinator of a node
 	 * @param y: y coordinator of a node
 	 */
 	public void setNodeWeight(int x, int y) {
-		dijkstra.setWeight(x, y);
-		bellmanFord.setWeight(x, y);
+		grid.toggleWeight(grid.index(x, y));
+		cache.cellChanged(grid.index(x, y));
+		this.updateHeatmap();
 	}
 	
 	/**
-	 * Resets weights of all nodes of the dijkstra and bellmnaFord objects
+	 * Resets weights of all nodes in the shared grid
 	 */
 	public void resetWeights() {
-		dijkstra.clearWeight();
-		bellmanFord.clearWeight();
+		grid.clearWeights();
+		this.updateHeatmap();
 	}
 }
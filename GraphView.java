@@ -8,6 +8,7 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Graphics;
 import java.awt.GridLayout;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -16,42 +17,50 @@ import java.awt.event.ItemListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 
 /**
  * A listener to be called to update the graph
  */
 interface ViewListener{
 	public void runAlgorithm();
+	public void stopAlgorithm();
 	public void setWall(int x, int y);
 	public void resetModel();
 	public void clearModel();
 	public void resetWeight();
 	public void setWeight(int x, int y);
-}
-
-/**
- * An enum class of algorithms
- * This class defines available algorithms to find a path 
- */
-enum ALGORITHMS{
-	DIJKSTRA,
-	BFS,
-	DFS,
-	BELLMANFORD
+	public void loadGrid(Path path) throws IOException;
+	public void saveGrid(Path path) throws IOException;
+	public void setHeatmap(boolean shown);
 }
 
 /**
@@ -73,19 +82,78 @@ public class GraphView extends JFrame implements ActionListener {
     private static final int SPACING = 1;
     private static final int topPanelHeight = 38;
     private static final int titleBarHeight = 22;
+    //milliseconds between two frames of a FAST replay
+    private static final int FRAME_DELAY = 16;
+    //longest duration of a FAST replay
+    private static final int FAST_REPLAY_MILLIS = 2000;
+    //flags of the cells, a cell's state is a combination of them
+    private static final byte WALL = 1;
+    private static final byte WEIGHT = 2;
+    private static final byte VISITED = 4;
+    private static final byte BACKWARD = 8;
+    private static final byte PATH = 16;
+    //classes of the cells as drawn, a larger class is kept when cells are aggregated at low zoom
+    static final byte EMPTY_CLASS = 0;
+    static final byte WEIGHT_CLASS = 1;
+    static final byte WALL_CLASS = 2;
+    static final byte VISITED_CLASS = 3;
+    static final byte BACKWARD_CLASS = 4;
+    static final byte PATH_CLASS = 5;
+    static final byte DESTINATION_CLASS = 6;
+    static final byte SOURCE_CLASS = 7;
+    static final int[] CLASS_COLORS = {Color.WHITE.getRGB(), Color.MAGENTA.getRGB(), Color.BLACK.getRGB(),
+    		Color.CYAN.getRGB(), Color.PINK.getRGB(), Color.YELLOW.getRGB(), Color.GREEN.getRGB(), Color.RED.getRGB()};
+    //zoom limits in pixels per cell
+    private static final double MIN_SCALE = 1.0 / 1024;
+    private static final double MAX_SCALE = 80;
+    //change of the zoom per notch of the mouse wheel
+    private static final double ZOOM_STEP = 1.25;
     private int columns;
     private int rows;
-    private Cell source;
-    private Cell destination;
+    //indices of the source and destination cells, -1 if not set
+    private int source;
+    private int destination;
     private ALGORITHMS selectedAlgorithm;
-    private HashMap<String, Cell> cells;
+    //state of every cell, one byte per cell indexed by row * columns + column
+    private byte[] cells;
+    //the visible part of the grid as it is drawn and its raster
+    private BufferedImage image;
+    private int[] pixels;
+    //viewport: pixels per cell and the column and row shown at the top left corner
+    private double scale;
+    private double originX;
+    private double originY;
+    //level of detail: levels[L] holds the largest class of every block of 2^L x 2^L cells,
+    //level 0 is computed from the cells when needed
+    private byte[][] levels;
+    private int[] levelRows;
+    private int[] levelColumns;
+    //mouse position while the view is dragged with the right button
+    private int panX, panY;
+    private Grid canvas;
+    //true while a weighted algorithm is selected, the other algorithms do not show weight nodes
+    private boolean showWeights;
 	private JPanel optionPanel, gridPanel;
 	private JRadioButton wallButton, sourceButton, destinationButton, weightButton;
-	private JButton runButton, resetButton, clearButton;
+	private JButton runButton, stopButton, resetButton, clearButton, replayButton, loadButton, saveButton;
+	private JCheckBox heatmapBox;
+	//when selected, Run races several algorithms side by side
+	private JCheckBox raceBox;
+	private List<ALGORITHMS> raceAlgorithms;
+	//color of every cell by its distance to the destination, null when the heatmap is hidden
+	private int[] heatColors;
+	private JFileChooser fileChooser;
 	private JComboBox<ALGORITHMS> algorithmsList;
 	private JComboBox<SPEED> speedList;
 	private JLabel speedLabel;
+	//counters of the last run and their rolling mean
+	private JLabel statsLabel;
 	private ArrayList<ViewListener> listeners;
+	//the last search and the replay of it in progress
+	private SearchTrace lastTrace;
+	private Timer replayTimer;
+	private int replayPosition;
+	private int replayStepsPerTick;
 	
 	
 	/**
@@ -156,7 +224,10 @@ public class GraphView extends JFrame implements ActionListener {
         optionPanel.add(weightButton);
         
         //An array of enum ALGORITHMS
-        ALGORITHMS[] algorithm = new ALGORITHMS[]{ALGORITHMS.DIJKSTRA,ALGORITHMS.BFS,ALGORITHMS.DFS, ALGORITHMS.BELLMANFORD};
+        ALGORITHMS[] algorithm = new ALGORITHMS[]{ALGORITHMS.DIJKSTRA,ALGORITHMS.ASTAR,ALGORITHMS.BFS,ALGORITHMS.DFS, ALGORITHMS.BELLMANFORD, ALGORITHMS.SPFA,
+        		ALGORITHMS.BIDIRECTIONAL_BFS, ALGORITHMS.BIDIRECTIONAL_DIJKSTRA, ALGORITHMS.JPS,
+        		ALGORITHMS.DELTA_STEPPING, ALGORITHMS.LPASTAR, ALGORITHMS.HPASTAR,
+        		ALGORITHMS.ALT};
         algorithmsList = new JComboBox<ALGORITHMS>(algorithm);
         algorithmsList.setBounds(50, 100, 90, 20); 
         optionPanel.add(algorithmsList);
@@ -175,6 +246,12 @@ public class GraphView extends JFrame implements ActionListener {
         runButton = new JButton("Run");
         optionPanel.add(runButton);
         runButton.addActionListener(this);
+        
+        //Stop button, enabled while an algorithm is running
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+        optionPanel.add(stopButton);
+        stopButton.addActionListener(this);
        
         //Instantiate the reset button
         resetButton = new JButton("Reset");
@@ -185,6 +262,40 @@ public class GraphView extends JFrame implements ActionListener {
         clearButton = new JButton("Clear grid");
         clearButton.addActionListener(this);
         optionPanel.add(clearButton);
+        
+        //Instantiate the replay button
+        replayButton = new JButton("Replay");
+        replayButton.addActionListener(this);
+        optionPanel.add(replayButton);
+        
+        //Instantiate the load and save buttons
+        loadButton = new JButton("Load");
+        loadButton.addActionListener(this);
+        optionPanel.add(loadButton);
+        saveButton = new JButton("Save");
+        saveButton.addActionListener(this);
+        optionPanel.add(saveButton);
+        fileChooser = new JFileChooser();
+        
+        //Instantiate the heatmap check box, it colors the free cells by their distance to the destination
+        heatmapBox = new JCheckBox("Heatmap");
+        heatmapBox.setForeground(Color.WHITE);
+        heatmapBox.setBackground(Color.DARK_GRAY);
+        heatmapBox.addActionListener(this);
+        optionPanel.add(heatmapBox);
+        
+        //Instantiate the race check box, Run then asks for the algorithms to race
+        raceBox = new JCheckBox("Race");
+        raceBox.setForeground(Color.WHITE);
+        raceBox.setBackground(Color.DARK_GRAY);
+        optionPanel.add(raceBox);
+        raceAlgorithms = Arrays.asList(ALGORITHMS.DIJKSTRA, ALGORITHMS.ASTAR, ALGORITHMS.JPS, ALGORITHMS.ALT);
+        
+        //stats of the last run, the tooltip lists all the counters
+        statsLabel = new JLabel();
+        statsLabel.setForeground(Color.WHITE);
+        statsLabel.setFont(statsLabel.getFont().deriveFont(10f));
+        optionPanel.add(statsLabel);
                 
         //botttom panel
 	    gridPanel = new JPanel();
@@ -193,22 +304,30 @@ public class GraphView extends JFrame implements ActionListener {
         gridPanel.setBounds(0, 38, windowWidth, windowHeight - topPanelHeight - titleBarHeight);
 	    
         //create a Grid oblect
-        Grid grid = new Grid();
-        gridPanel.add(grid);
-        grid.setBounds(gridPanel.getX(), gridPanel.getY(), gridPanel.getWidth(), gridPanel.getHeight());
+        canvas = new Grid();
+        gridPanel.add(canvas);
+        canvas.setBounds(gridPanel.getX(), gridPanel.getY(), gridPanel.getWidth(), gridPanel.getHeight());
         //set mouse listeners
-        grid.addMouseListener(new Mouse());
-        grid.addMouseMotionListener(new Mouse());
+        Mouse mouse = new Mouse();
+        canvas.addMouseListener(mouse);
+        canvas.addMouseMotionListener(mouse);
+        canvas.addMouseWheelListener(mouse);
         
-        //Instantiate the hash map cells
-        cells = new HashMap<String,Cell>();
-        for(int i = 0; i < rows; i++) {
-        	for(int j = 0; j < columns; j++) {
-        		Cell cell = new Cell(i,j);
-        		String key = generateKey(cell);
-        		cells.put(key,cell);
+        //Instantiate the cells and the image they are drawn in
+        source = -1;
+        destination = -1;
+        showWeights = isWeighted((ALGORITHMS)algorithmsList.getSelectedItem());
+        cells = new byte[rows * columns];
+        scale = CELL_SIZE;
+        this.createViewImage(windowWidth, windowHeight - 2 * topPanelHeight - titleBarHeight);
+        
+        //replays the searches, started by replay()
+        replayTimer = new Timer(FRAME_DELAY, new ActionListener() {
+        	@Override
+        	public void actionPerformed(ActionEvent e) {
+        		replayStep();
         	}
-        }
+        });
 	}
 	
 	
@@ -220,14 +339,16 @@ public class GraphView extends JFrame implements ActionListener {
 		//When an algorithm is selected from the algorithmsList combo box
 		if(e.getSource() == algorithmsList) {
 			ALGORITHMS algorithm = (ALGORITHMS)algorithmsList.getSelectedItem();
-			//If Dijkstra or Bellman-Ford is selected enable the weight button
-			if(algorithm == ALGORITHMS.DIJKSTRA || algorithm == ALGORITHMS.BELLMANFORD){
+			//If a weighted algorithm is selected enable the weight button
+			showWeights = isWeighted(algorithm);
+			if(isWeighted(algorithm)){
 				weightButton.setSelected(true);
 				weightButton.setEnabled(true);
+				this.drawCells();
 				repaint();
 			}
-			//if BFS or DFS is selected disable the weight button
-			else if(algorithm == ALGORITHMS.BFS || algorithm == ALGORITHMS.DFS) {
+			//if BFS, DFS, bidirectional BFS or JPS is selected disable the weight button
+			else {
 				weightButton.setSelected(false);
 				weightButton.setEnabled(false);
 				this.clearWeight();
@@ -241,16 +362,17 @@ public class GraphView extends JFrame implements ActionListener {
 			this.selectedAlgorithm = (ALGORITHMS)algorithmsList.getSelectedItem();
 			optionPanel.repaint();
 			
-			if(this.source == null && this.destination == null) {
+			if(this.source == -1 && this.destination == -1) {
 				JOptionPane.showMessageDialog(null, "Please select source and destination nodes.");
 			}
-			else if(this.source == null) {
+			else if(this.source == -1) {
 				JOptionPane.showMessageDialog(null, "Please select a source node.");
 			}
-			else if(this.destination == null) {
+			else if(this.destination == -1) {
 				JOptionPane.showMessageDialog(null, "Please select a destination node.");
 			}
-			else {
+			//in race mode the algorithms are chosen first, nothing runs if the choice is cancelled
+			else if(!raceBox.isSelected() || this.chooseRaceAlgorithms()) {
 				//disable all the buttons while an algorithm is running
 				resetButton.setEnabled(false);
 				speedList.setEnabled(false);
@@ -260,13 +382,21 @@ public class GraphView extends JFrame implements ActionListener {
 				destinationButton.setEnabled(false);
 				weightButton.setEnabled(false);
 				clearButton.setEnabled(false);
+				replayButton.setEnabled(false);
+				loadButton.setEnabled(false);
+				saveButton.setEnabled(false);
+				//the heatmap and the race mode are read by the running search
+				heatmapBox.setEnabled(false);
+				raceBox.setEnabled(false);
+				//the running algorithm can be stopped
+				stopButton.setEnabled(true);
 				
 				// Without the SwingWorker, The buttons get enabled immediately
 				//So we dispatch a new thread to enable them after the algorithm is done running
-				SwingWorker sw = new SwingWorker() {
+				SwingWorker<Void, Void> sw = new SwingWorker<Void, Void>() {
 	
 					@Override
-					protected Object doInBackground() throws Exception {
+					protected Void doInBackground() {
 						//Invoke all the registered listeners
 						for(ViewListener listener : listeners) {
 							listener.runAlgorithm();
@@ -285,9 +415,22 @@ public class GraphView extends JFrame implements ActionListener {
 						sourceButton.setEnabled(true);
 						destinationButton.setEnabled(true);
 						clearButton.setEnabled(true);
-						if(selectedAlgorithm.equals("Dijkstra") || selectedAlgorithm.equals("Bellman-Ford")) {
+						replayButton.setEnabled(true);
+						loadButton.setEnabled(true);
+						saveButton.setEnabled(true);
+						heatmapBox.setEnabled(true);
+						raceBox.setEnabled(true);
+						stopButton.setEnabled(false);
+						if(isWeighted(selectedAlgorithm)) {
 							weightButton.setEnabled(true);
 						}
+						//a search that failed is reported instead of looking finished
+						try {
+							get();
+						}
+						catch(InterruptedException | ExecutionException exception) {
+							throw new IllegalStateException("the search could not be run", exception);
+						}
 		            }
 	        		
 	        	};
@@ -295,6 +438,20 @@ public class GraphView extends JFrame implements ActionListener {
 			}
 		}
 		
+		//When the stop button is clicked stop the running algorithm, the best path found so far is shown
+		if(e.getSource() == stopButton) {
+			stopButton.setEnabled(false);
+			//Invoke all the registered listeners
+			for(ViewListener listener : listeners) {
+				listener.stopAlgorithm();
+			}
+		}
+		
+		//When the replay button is clicked replay the last search from the start
+		if(e.getSource() == replayButton) {
+			this.restartReplay();
+		}
+		
 		//When the reset button is clicked call this.reset()
 		if(e.getSource() == resetButton) {
 			this.reset();
@@ -302,16 +459,12 @@ public class GraphView extends JFrame implements ActionListener {
 		
 		//When the clear button is clicked reset everything
 		if(e.getSource() == clearButton) {
-			this.source = null;
-			this.destination = null;
-			for(Cell cell: cells.values()) {
-	    		cell.isPath = false;
-	    		cell.previous = null;
-	    		cell.isVisited = false;
-	    		cell.isWall = false;
-	    		cell.isSource = false;
-	    		cell.isDestination = false;
-	    	}
+			this.stopReplay();
+			this.lastTrace = null;
+			this.source = -1;
+			this.destination = -1;
+			Arrays.fill(cells, (byte)0);
+			this.drawCells();
 			//Invoke all the registered listeners
 			for(ViewListener listener : listeners) {
 				listener.clearModel();
@@ -319,113 +472,114 @@ public class GraphView extends JFrame implements ActionListener {
 	    	repaint();
 		}
 		
+		//When the heatmap check box is clicked ask the controller for the distance field or hide it
+		if(e.getSource() == heatmapBox) {
+			//Invoke all the registered listeners
+			for(ViewListener listener : listeners) {
+				listener.setHeatmap(heatmapBox.isSelected());
+			}
+		}
+		
+		//When the load button is clicked ask the controller to load the chosen file
+		if(e.getSource() == loadButton && fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+			try {
+				//Invoke all the registered listeners
+				for(ViewListener listener : listeners) {
+					listener.loadGrid(fileChooser.getSelectedFile().toPath());
+				}
+			} catch (IOException ioe) {
+				JOptionPane.showMessageDialog(null, "Could not load the grid: " + ioe.getMessage());
+			}
+		}
+		
+		//When the save button is clicked ask the controller to save the grid to the chosen file
+		if(e.getSource() == saveButton && fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+			try {
+				//Invoke all the registered listeners
+				for(ViewListener listener : listeners) {
+					listener.saveGrid(fileChooser.getSelectedFile().toPath());
+				}
+			} catch (IOException ioe) {
+				JOptionPane.showMessageDialog(null, "Could not save the grid: " + ioe.getMessage());
+			}
+		}
+		
 	}
 	
 /**
- * A class to create a boxed grid using the paintComponent method.
+ * A class to draw the grid, it copies the image of the visible cells to the screen.
  */
 public class Grid extends JPanel {
 		public void paintComponent (Graphics g) {
-			g.setColor(Color.LIGHT_GRAY);
-			g.fillRect(0, 0, gridPanel.getWidth(), gridPanel.getHeight());
-			g.setColor(Color.WHITE);
-			
-			for(int i = 0; i < rows; i++) {
-				for(int j = 0; j < columns; j++) {
-					g.setColor(Color.WHITE);
-					
-					//Set color according to their status
-					if(cells != null) {
-						Cell cell = getCell(i, j);
-						if(cell != null) {
-							if(cell == source) {
-	                            g.setColor(Color.RED);
-		                    }
-		                    else if(cell == destination) {
-	                            g.setColor(Color.GREEN);
-		                    }
-		                    else if(cell.isWall) {
-	                            g.setColor(Color.BLACK);
-    	                    }
-		                    else if(cell.isVisited && !cell.isWeightCell) {
-	                            g.setColor(Color.CYAN);
-		                    }
-		                    else if(cell.isPath) {
-	                            g.setColor(Color.YELLOW);
-		                    }
-		                    else if(cell.isWeightCell) {
-		                    	ALGORITHMS algorithm = (ALGORITHMS)algorithmsList.getSelectedItem();
-		    					if(algorithm == ALGORITHMS.DIJKSTRA || algorithm == ALGORITHMS.BELLMANFORD) {
-		                    		g.setColor(Color.MAGENTA);
-		                    	}
-		                    }
-						}
-					}
-					g.fillRect( j * CELL_SIZE, (i * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
-				}
+			//draw the visible cells again when the size of the window changes
+			int width = getWidth();
+			int height = getHeight() - topPanelHeight;
+			if(width > 0 && height > 0 && (width != image.getWidth() || height != image.getHeight())) {
+				createViewImage(width, height);
 			}
+			g.setColor(Color.LIGHT_GRAY);
+			g.fillRect(0, 0, getWidth(), getHeight());
+			g.drawImage(image, 0, topPanelHeight, null);
 		}
 		
 	}
 	
 //A class to implement mouse and mouse motion listeners
 //handles user actions done on the grid
-	public class Mouse implements MouseMotionListener, MouseListener{
+	public class Mouse implements MouseMotionListener, MouseListener, MouseWheelListener{
 
 		@Override
 		public void mouseClicked(MouseEvent e) {
-			int x = e.getX();
-			int y = e.getY();
+			int row = getRowNum(e.getY());
+			int column = getColumnNum(e.getX());
 			
-			if( x > 0 && x % 20 != 0 && y > 40 && y % 20 != 0) {
-				int row = getRowNum(y);
-				int column = getColumnNum(x);
-				Cell clickedCell = getCell(row,column);
+			//the left button edits the grid, only the cells of the grid can be edited
+			if(SwingUtilities.isLeftMouseButton(e) && row != -1 && column != -1) {
+				int index = row * columns + column;
 				
 				//set source
 				if(sourceButton.isSelected() && sourceButton.isEnabled()) {
-			        clickedCell.isSource = !clickedCell.isSource;
-			        clickedCell.isDestination = false;
-			        clickedCell.isWall = false;
-			        clickedCell.isWeightCell = false;
-			        source = clickedCell;
-			        gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+					int previous = source;
+					cells[index] &= ~(WALL | WEIGHT);
+			        source = index;
+			        updateCell(previous);
+			        updateCell(index);
 				}
 				//set destination node
 				else if(destinationButton.isSelected() && destinationButton.isEnabled()) {
-			        clickedCell.isDestination = !clickedCell.isDestination;
-			        clickedCell.isSource = false;
-			        clickedCell.isWall = false;
-			        clickedCell.isWeightCell = false;
-			        destination = clickedCell;
-			        gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+					int previous = destination;
+					cells[index] &= ~(WALL | WEIGHT);
+			        destination = index;
+			        updateCell(previous);
+			        updateCell(index);
+			        //the heatmap shows the distances to the new destination
+			        if(heatmapBox.isSelected()) {
+			        	for(ViewListener listener : listeners) {
+							listener.setHeatmap(true);
+						}
+			        }
 				}
 				//set wall node
 				else if(wallButton.isSelected() && wallButton.isEnabled()) {
-					clickedCell.isWall = !clickedCell.isWall;
-					clickedCell.isSource = false;
-					clickedCell.isDestination = false;
-					clickedCell.isWeightCell = false;
+					cells[index] ^= WALL;
+					cells[index] &= ~WEIGHT;
 					//Invoke all the registered listeners
 					for(ViewListener listener : listeners) {
 						listener.setWall(row, column);
 					}
-					gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+					updateCell(index);
 				}
 				//set weight node
 				else if(weightButton.isSelected() && weightButton.isEnabled()) {
 					
-					ALGORITHMS algorithm = (ALGORITHMS)algorithmsList.getSelectedItem();
-					if(algorithm == ALGORITHMS.DIJKSTRA || algorithm == ALGORITHMS.BELLMANFORD) {
-						clickedCell.isWeightCell = !clickedCell.isWeightCell;
-						clickedCell.isSource = false;
-						clickedCell.isDestination = false;
-						clickedCell.isWall = false;
+					if(isWeighted((ALGORITHMS)algorithmsList.getSelectedItem())) {
+						cells[index] ^= WEIGHT;
+						cells[index] &= ~WALL;
 						//Invoke all the registered listeners
 						for(ViewListener listener : listeners) {
 							listener.setWeight(row, column);
 						}
-						gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+						updateCell(index);
 				
 					}
 				}
@@ -435,8 +589,11 @@ public class Grid extends JPanel {
 
 		@Override
 		public void mousePressed(MouseEvent e) {
-			// TODO Auto-generated method stub
-			
+			//the right button drags the view
+			if(SwingUtilities.isRightMouseButton(e)) {
+				panX = e.getX();
+				panY = e.getY();
+			}
 		}
 
 		@Override
@@ -458,39 +615,41 @@ public class Grid extends JPanel {
 
 		@Override
 		public void mouseDragged(MouseEvent e) {
-			int x = e.getX();
-			int y = e.getY();
+			//move the view with the mouse
+			if(SwingUtilities.isRightMouseButton(e)) {
+				pan(e.getX() - panX, e.getY() - panY);
+				panX = e.getX();
+				panY = e.getY();
+				return;
+			}
+			
+			int row = getRowNum(e.getY());
+			int column = getColumnNum(e.getX());
 			
-			if( x > 0 && x % 20 != 0 && y > 40 && y % 20 != 0) {
-				int row = getRowNum(y);
-				int column = getColumnNum(x);
-				Cell clickedCell = getCell(row,column);
+			if(SwingUtilities.isLeftMouseButton(e) && row != -1 && column != -1) {
+				int index = row * columns + column;
 				
 				//set wall node
 				if(wallButton.isSelected() && wallButton.isEnabled()) {
-					clickedCell.isWall = !clickedCell.isWall;
-					clickedCell.isSource = false;
-					clickedCell.isDestination = false;
+					cells[index] ^= WALL;
+					cells[index] &= ~WEIGHT;
 					//Invoke all the registered listeners
 					for(ViewListener listener : listeners) {
 						listener.setWall(row, column);
 					}
-					gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+					updateCell(index);
 				}
 				
 				//set weight node
 				else if(weightButton.isSelected() && weightButton.isEnabled()) {
-					ALGORITHMS algorithm = (ALGORITHMS)algorithmsList.getSelectedItem();
-					if(algorithm == ALGORITHMS.DIJKSTRA || algorithm == ALGORITHMS.BELLMANFORD) {
-						clickedCell.isWeightCell = !clickedCell.isWeightCell;
-						clickedCell.isSource = false;
-						clickedCell.isDestination = false;
-						clickedCell.isWall = false;
+					if(isWeighted((ALGORITHMS)algorithmsList.getSelectedItem())) {
+						cells[index] ^= WEIGHT;
+						cells[index] &= ~WALL;
 						//Invoke all the registered listeners
 						for(ViewListener listener : listeners) {
 							listener.setWeight(row, column);
 						}
-						gridPanel.paintImmediately(column * CELL_SIZE, (row * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
+						updateCell(index);
 				
 					}
 				}
@@ -505,26 +664,301 @@ public class Grid extends JPanel {
 			
 			
 		}
+
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent e) {
+			//zoom in when the wheel is rotated away from the user, keeping the cell under the mouse in place
+			zoom(e.getX(), e.getY() - topPanelHeight, Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+		}
 		
 	}
 	
+	/**
+	 * Zooms the view, the cell under the given point stays in place
+	 * @param x: x coordinate of the point in the image
+	 * @param y: y coordinate of the point in the image
+	 * @param factor: change of the number of pixels per cell
+	 */
+	private void zoom(int x, int y, double factor) {
+		double column = originX + x / scale;
+		double row = originY + y / scale;
+		scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+		originX = column - x / scale;
+		originY = row - y / scale;
+		this.pan(0, 0);
+	}
+	
+	/**
+	 * Moves the view, at least one cell of the grid stays visible
+	 * @param dx: pixels to move the grid to the right
+	 * @param dy: pixels to move the grid down
+	 */
+	private void pan(int dx, int dy) {
+		originX = Math.max(1 - image.getWidth() / scale, Math.min(columns - 1, originX - dx / scale));
+		originY = Math.max(1 - image.getHeight() / scale, Math.min(rows - 1, originY - dy / scale));
+		this.renderRegion(0, 0, image.getWidth(), image.getHeight());
+		canvas.repaint();
+	}
+	
+	/**
+	 * Creates the image of the visible cells and draws them in it
+	 * @param width: width of the view in pixels
+	 * @param height: height of the view in pixels
+	 */
+	private void createViewImage(int width, int height) {
+		image = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		this.drawCells();
+	}
+	
+	/**
+	 * Shows the whole grid, zoomed in at most to the default cell size
+	 */
+	private void fitGrid() {
+		scale = Math.max(MIN_SCALE, Math.min(CELL_SIZE,
+				Math.min(image.getWidth() / (double)columns, image.getHeight() / (double)rows)));
+		originX = 0;
+		originY = 0;
+	}
+	
+	/**
+	 * Computes the level of detail of all cells again and draws the visible cells,
+	 * the screen is updated by the next repaint
+	 */
+	private void drawCells() {
+		this.buildLevels();
+		this.renderRegion(0, 0, image.getWidth(), image.getHeight());
+	}
+	
+	/**
+	 * Draws a cell after its state changed, the screen is updated by the next repaint
+	 * @param index: index of the cell
+	 */
+	private void drawCell(int index) {
+		int row = index / columns;
+		int column = index % columns;
+		this.updateLevels(row, column);
+		Rectangle bounds = this.cellBounds(row, column, row, column);
+		this.renderRegion(bounds.x, bounds.y - topPanelHeight, bounds.x + bounds.width, bounds.y - topPanelHeight + bounds.height);
+	}
+	
+	/**
+	 * Draws a cell and shows it on the screen right away
+	 * @param index: index of the cell, nothing is done for -1
+	 */
+	private void updateCell(int index) {
+		if(index == -1) {
+			return;
+		}
+		this.drawCell(index);
+		canvas.paintImmediately(this.cellBounds(index / columns, index % columns, index / columns, index % columns));
+	}
+	
+	/**
+	 * Returns the rectangle of the screen showing a block of cells, clipped to the view.
+	 * At low zoom the rectangle covers the whole aggregated blocks the cells are part of.
+	 * @param minRow: first row of the block
+	 * @param minColumn: first column of the block
+	 * @param maxRow: last row of the block
+	 * @param maxColumn: last column of the block
+	 * @return the rectangle in coordinates of the Grid component
+	 */
+	private Rectangle cellBounds(int minRow, int minColumn, int maxRow, int maxColumn) {
+		int level = this.levelOfDetail();
+		minRow = minRow >> level << level;
+		minColumn = minColumn >> level << level;
+		maxRow = ((maxRow >> level) + 1) << level;
+		maxColumn = ((maxColumn >> level) + 1) << level;
+		int x0 = Math.max(0, (int)Math.floor((minColumn - originX) * scale));
+		int y0 = Math.max(0, (int)Math.floor((minRow - originY) * scale));
+		int x1 = Math.min(image.getWidth(), (int)Math.ceil((maxColumn - originX) * scale));
+		int y1 = Math.min(image.getHeight(), (int)Math.ceil((maxRow - originY) * scale));
+		return new Rectangle(x0, y0 + topPanelHeight, Math.max(0, x1 - x0), Math.max(0, y1 - y0));
+	}
+	
+	/**
+	 * Returns the level of detail drawn at the current zoom, the first level
+	 * whose blocks are at least one pixel wide
+	 * @return the level, 0 when every cell is at least one pixel wide
+	 */
+	private int levelOfDetail() {
+		int level = 0;
+		while(level < levels.length - 1 && (1 << level) * scale < 1) {
+			level++;
+		}
+		return level;
+	}
+	
+	/**
+	 * Draws the cells visible in a rectangle of the image
+	 * @param x0: first column of pixels
+	 * @param y0: first row of pixels
+	 * @param x1: column of pixels after the last one
+	 * @param y1: row of pixels after the last one
+	 */
+	private void renderRegion(int x0, int y0, int x1, int y1) {
+		int width = image.getWidth();
+		int background = Color.LIGHT_GRAY.getRGB();
+		int level = this.levelOfDetail();
+		int levelRowCount = level == 0 ? rows : levelRows[level];
+		int levelColumnCount = level == 0 ? columns : levelColumns[level];
+		//the last pixel of each cell is the spacing between cells, when cells are large enough to show it
+		boolean spacing = scale >= 4;
+
+		//block of every column of pixels, -1 for the spacing and outside the grid
+		int[] blockColumns = new int[Math.max(0, x1 - x0)];
+		for(int x = x0; x < x1; x++) {
+			double column = originX + x / scale;
+			int block = (int)Math.floor(column) >> level;
+			boolean gap = spacing && (column - Math.floor(column)) * scale >= scale - SPACING;
+			blockColumns[x - x0] = column < 0 || block >= levelColumnCount || gap ? -1 : block;
+		}
+
+		for(int y = y0; y < y1; y++) {
+			int offset = y * width;
+			double row = originY + y / scale;
+			int block = (int)Math.floor(row) >> level;
+			if(row < 0 || block >= levelRowCount || (spacing && (row - Math.floor(row)) * scale >= scale - SPACING)) {
+				Arrays.fill(pixels, offset + x0, offset + x1, background);
+				continue;
+			}
+			for(int x = x0; x < x1; x++) {
+				int blockColumn = blockColumns[x - x0];
+				if(blockColumn == -1) {
+					pixels[offset + x] = background;
+					continue;
+				}
+				byte value = level == 0 ? this.cellClass(block * columns + blockColumn)
+						: levels[level][block * levelColumnCount + blockColumn];
+				//free cells show the heatmap, a block shows the heat of its first cell
+				pixels[offset + x] = value == EMPTY_CLASS && heatColors != null
+						? heatColors[(block << level) * columns + (blockColumn << level)]
+						: CLASS_COLORS[value];
+			}
+		}
+	}
+	
+	/**
+	 * Computes the classes of all levels of detail from the cells
+	 */
+	private void buildLevels() {
+		int count = 1;
+		while((1 << (count - 1)) < Math.max(rows, columns)) {
+			count++;
+		}
+		levels = new byte[count][];
+		levelRows = new int[count];
+		levelColumns = new int[count];
+		for(int level = 1; level < count; level++) {
+			levelRows[level] = (rows + (1 << level) - 1) >> level;
+			levelColumns[level] = (columns + (1 << level) - 1) >> level;
+			levels[level] = new byte[levelRows[level] * levelColumns[level]];
+			for(int r = 0; r < levelRows[level]; r++) {
+				for(int c = 0; c < levelColumns[level]; c++) {
+					levels[level][r * levelColumns[level] + c] = this.aggregate(level, r, c);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Computes again the classes of the blocks containing a cell, from the bottom level up
+	 * @param row: row of the cell
+	 * @param column: column of the cell
+	 */
+	private void updateLevels(int row, int column) {
+		for(int level = 1; level < levels.length; level++) {
+			int r = row >> level;
+			int c = column >> level;
+			byte value = this.aggregate(level, r, c);
+			int index = r * levelColumns[level] + c;
+			//the blocks above do not change either
+			if(levels[level][index] == value) {
+				break;
+			}
+			levels[level][index] = value;
+		}
+	}
+	
+	/**
+	 * Returns the largest class of the four blocks of the level below forming a block
+	 * @param level: level of the block, at least 1
+	 * @param r: row of the block
+	 * @param c: column of the block
+	 * @return class of the block
+	 */
+	private byte aggregate(int level, int r, int c) {
+		int belowRows = level == 1 ? rows : levelRows[level - 1];
+		int belowColumns = level == 1 ? columns : levelColumns[level - 1];
+		byte value = EMPTY_CLASS;
+		for(int i = 2 * r; i < Math.min(2 * r + 2, belowRows); i++) {
+			for(int j = 2 * c; j < Math.min(2 * c + 2, belowColumns); j++) {
+				byte below = level == 1 ? this.cellClass(i * columns + j) : levels[level - 1][i * belowColumns + j];
+				if(below > value) {
+					value = below;
+				}
+			}
+		}
+		return value;
+	}
+	
+	/**
+	 * Returns the class of a cell according to its status, which gives its color
+	 * @param index: index of the cell
+	 * @return the class of the cell
+	 */
+	private byte cellClass(int index) {
+		byte state = cells[index];
+		if(index == source) {
+			return SOURCE_CLASS;
+		}
+		else if(index == destination) {
+			return DESTINATION_CLASS;
+		}
+		else if((state & WALL) != 0) {
+			return WALL_CLASS;
+		}
+		else if((state & VISITED) != 0 && (state & WEIGHT) == 0) {
+			return (state & BACKWARD) != 0 ? BACKWARD_CLASS : VISITED_CLASS;
+		}
+		else if((state & PATH) != 0) {
+			return PATH_CLASS;
+		}
+		else if((state & WEIGHT) != 0 && showWeights) {
+			return WEIGHT_CLASS;
+		}
+		return EMPTY_CLASS;
+	}
+	
 	/**
 	 * Computes and returns row number
 	 * @param y: y coordinate of the mouse position
-	 * @return computed row number
+	 * @return computed row number, -1 outside the grid
 	 */
 	public int getRowNum(int y) {
-		return y % 20 != 0 && y > 40 ? y / 20 - 2 : -1;
+		double row = originY + (y - topPanelHeight) / scale;
+		return y >= topPanelHeight && row >= 0 && row < rows ? (int)row : -1;
 		
 	}
 	
 	/**
 	 * Computes and returns row number
 	 * @param x: x coordinate of the mouse position
-	 * @return computed column number
+	 * @return computed column number, -1 outside the grid
 	 */
 	public int getColumnNum(int x) {
-		return x % 20 != 0 ? x/20 : -1;
+		double column = originX + x / scale;
+		return column >= 0 && column < columns ? (int)column : -1;
+	}
+	
+	/**
+	 * Returns true if the algorithm takes weight nodes into account
+	 * @param algorithm: the algorithm
+	 * @return true for Dijkstra, A*, Bellman-Ford, SPFA, bidirectional Dijkstra, delta-stepping, LPA*, HPA* and ALT,
+	 * as listed by ALGORITHMS.isWeighted
+	 */
+	public boolean isWeighted(ALGORITHMS algorithm) {
+		return algorithm.isWeighted();
 	}
 	
 	/**
@@ -544,79 +978,282 @@ public class Grid extends JPanel {
 	}
 	
 	/**
-	 * Highlights the cell being visited
-	 * @param x: x coordinate of the cell
-	 * @param y: y coordinate of the cell
+	 * Shows the counters of the last run and their mean over the recent runs. May be called from any thread.
+	 * @param algorithm: algorithm of the last run
+	 * @param last: stats of the last run
+	 * @param cached: true if the last run was replayed from the cache, its stats are the cached ones
+	 * @param mean: mean stats of the recent runs
+	 * @param runs: number of runs the mean is computed over
 	 */
-	public void visitCell(int x, int y) {
-		this.delay();
-		Cell cell = getCell(x,y);
-		cell.isVisited = true;
-		this.gridPanel.revalidate();
-		gridPanel.paintImmediately(cell.y * CELL_SIZE, (cell.x * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);		
+	public void showStats(ALGORITHMS algorithm, SearchStats last, boolean cached, SearchStats mean, int runs) {
+		if(!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					showStats(algorithm, last, cached, mean, runs);
+				}
+			});
+			return;
+		}
+		statsLabel.setText("<html>" + algorithm + (cached ? " (cached)" : "") + ": " + summary(last)
+				+ "<br>mean of " + runs + " runs: " + summary(mean) + "</html>");
+		statsLabel.setToolTipText("<html>" + details(last) + "<br><br>mean of " + runs + " runs<br>" + details(mean) + "</html>");
 	}
 	
-	/**
-	 * Highlights the path
-	 * @param path: an array of cells forming the path
-	 */
-	public void drawPath(Cell[] path) {
-		for(Cell cell : path) {
-			this.delay();
-			cell.isPath = true;
-			gridPanel.paintImmediately(cell.y * CELL_SIZE, (cell.x * CELL_SIZE) + 38, CELL_SIZE - SPACING, CELL_SIZE - SPACING);
-		}
+	//Returns the main counters on one line
+	private static String summary(SearchStats stats) {
+		return String.format("%,d expanded, peak %,d, %.2f ms, %s",
+				stats.getNodesExpanded(), stats.getPeakFrontier(), stats.getWallTimeNanos() / 1e6, bytes(stats.getAllocatedBytes()));
+	}
+	
+	//Returns all the counters, one per line
+	private static String details(SearchStats stats) {
+		return String.format("nodes expanded: %,d<br>edges relaxed: %,d<br>queue pushes: %,d<br>queue pops: %,d"
+				+ "<br>peak frontier: %,d<br>path length: %,d<br>path cost: %.1f<br>wall time: %.3f ms<br>allocated: %s",
+				stats.getNodesExpanded(), stats.getEdgesRelaxed(), stats.getQueuePushes(), stats.getQueuePops(),
+				stats.getPeakFrontier(), stats.getPathLength(), stats.getPathCost(), stats.getWallTimeNanos() / 1e6,
+				bytes(stats.getAllocatedBytes()));
+	}
+	
+	//Returns a number of bytes in KB, or n/a when the JVM does not count them
+	private static String bytes(long bytes) {
+		return bytes < 0 ? "n/a" : String.format("%,d KB", bytes / 1024);
 	}
 	
 	/**
-	 * Delays code execution based on the speed selected
+	 * Replays a recorded search at the selected speed: the visits first, then the path.
+	 * A replay in progress is stopped. May be called from any thread.
+	 * @param trace: the recorded search
 	 */
-	public void delay() {
+	public void replay(SearchTrace trace) {
+		if(!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					replay(trace);
+				}
+			});
+			return;
+		}
+		this.stopReplay();
+		this.lastTrace = trace;
+		this.replayPosition = 0;
+		int steps = trace.visitCount() + trace.pathLength();
+
 		SPEED speed = (SPEED)speedList.getSelectedItem();
 		if(speed == SPEED.MEDIUM) {
-			try {
-	            Thread.sleep(100);
-	        } catch (InterruptedException ie)
-	        {
-	            //System.out.println("Scanning...");
-	        }
+			this.replayTimer.setDelay(100);
+			this.replayStepsPerTick = 1;
 		}
 		else if(speed == SPEED.SLOW) {
-			try {
-	            Thread.sleep(250);
-	        } catch (InterruptedException ie)
-	        {
-	            //System.out.println("Scanning...");
-	        }
+			this.replayTimer.setDelay(250);
+			this.replayStepsPerTick = 1;
+		}
+		//FAST replays any search within FAST_REPLAY_MILLIS
+		else {
+			this.replayTimer.setDelay(FRAME_DELAY);
+			this.replayStepsPerTick = Math.max(1, (int)Math.ceil(steps / (double)(FAST_REPLAY_MILLIS / FRAME_DELAY)));
+		}
+		this.replayTimer.setInitialDelay(0);
+		this.replayTimer.start();
+	}
+	
+	/**
+	 * Stops the replay in progress, the cells keep the state replayed so far
+	 */
+	public void stopReplay() {
+		this.replayTimer.stop();
+	}
+	
+	/**
+	 * Replays the next steps of the trace and repaints the rectangle enclosing the changed cells.
+	 * Runs on the event dispatch thread at every tick of the replay timer.
+	 */
+	private void replayStep() {
+		SearchTrace trace = this.lastTrace;
+		int visits = trace.visitCount();
+		int end = Math.min(this.replayPosition + this.replayStepsPerTick, visits + trace.pathLength());
+		int minRow = Integer.MAX_VALUE, maxRow = -1;
+		int minColumn = Integer.MAX_VALUE, maxColumn = -1;
+
+		for(; this.replayPosition < end; this.replayPosition++) {
+			int index;
+			//visits first
+			if(this.replayPosition < visits) {
+				index = trace.visitIndex(this.replayPosition);
+				cells[index] |= VISITED;
+				if(trace.isBackward(this.replayPosition)) {
+					cells[index] |= BACKWARD;
+				}
+				else {
+					cells[index] &= ~BACKWARD;
+				}
+			}
+			//then the path, from the source to the destination
+			else {
+				index = trace.pathIndex(this.replayPosition - visits);
+				//highlight the cell yellow and remove the cyan color
+				cells[index] |= PATH;
+				cells[index] &= ~VISITED;
+			}
+			this.drawCell(index);
+			int row = index / columns;
+			int column = index % columns;
+			minRow = Math.min(minRow, row);
+			maxRow = Math.max(maxRow, row);
+			minColumn = Math.min(minColumn, column);
+			maxColumn = Math.max(maxColumn, column);
+		}
+
+		if(this.replayPosition == visits + trace.pathLength()) {
+			this.stopReplay();
+		}
+		if(maxRow != -1) {
+			canvas.repaint(this.cellBounds(minRow, minColumn, maxRow, maxColumn));
 		}
 	}
 	
+	/**
+	 * Clears the visited cells and the path, then replays the last search again
+	 */
+	public void restartReplay() {
+		if(this.lastTrace == null) {
+			return;
+		}
+		this.stopReplay();
+		this.clearMarks();
+		repaint();
+		this.replay(this.lastTrace);
+	}
+	
+	/**
+	 * Replaces all cells with the cells of a grid, used when a grid is loaded
+	 * @param grid: the grid to show
+	 * @param source: index of the source, -1 if not set
+	 * @param destination: index of the destination, -1 if not set
+	 */
+	public void showGrid(GridModel grid, int source, int destination) {
+		//the last search was made on the previous grid
+		this.stopReplay();
+		this.lastTrace = null;
+		//the heatmap of the previous grid, the controller computes the new one
+		this.heatColors = null;
+		this.rows = grid.rows;
+		this.columns = grid.columns;
+		this.source = source;
+		this.destination = destination;
+		this.cells = new byte[grid.size()];
+		for(int i = 0; i < cells.length; i++) {
+			if(grid.isWall(i)) {
+				cells[i] = WALL;
+			}
+			else if(grid.isWeightNode(i)) {
+				cells[i] = WEIGHT;
+			}
+		}
+		this.fitGrid();
+		this.drawCells();
+		repaint();
+	}
+	
+	/**
+	 * Shows the distances of a distance field as a heatmap, from red next to the destination
+	 * to blue for the farthest cells. Cells that can not reach the destination stay white.
+	 * @param field: distance field of the destination, null to hide the heatmap
+	 */
+	public void showHeatmap(DistanceField field) {
+		if(field == null) {
+			heatColors = null;
+		}
+		else {
+			float maxDistance = 0;
+			for(int i = 0; i < cells.length; i++) {
+				if(field.getDistance(i) != Float.POSITIVE_INFINITY) {
+					maxDistance = Math.max(maxDistance, field.getDistance(i));
+				}
+			}
+			heatColors = new int[cells.length];
+			for(int i = 0; i < cells.length; i++) {
+				float distance = field.getDistance(i);
+				heatColors[i] = distance == Float.POSITIVE_INFINITY ? Color.WHITE.getRGB()
+						: Color.HSBtoRGB(0.66f * distance / Math.max(maxDistance, 1), 0.45f, 1f);
+			}
+		}
+		this.renderRegion(0, 0, image.getWidth(), image.getHeight());
+		canvas.repaint();
+	}
+	
 	/**
 	 * get the source
-	 * @return source
+	 * @return source, null if not set
 	 */
-	public Cell getSource() {
-		return this.source;
+	public Node getSource() {
+		return this.source == -1 ? null : new Node(this.source / columns, this.source % columns);
 	}
 	
 	/**
 	 * get the destination
-	 * @return destination
+	 * @return destination, null if not set
 	 */
-	public Cell getDestination() {
-		return this.destination;
+	public Node getDestination() {
+		return this.destination == -1 ? null : new Node(this.destination / columns, this.destination % columns);
 	}
 	
 	/**
-	 * returns the cell at x and y
-	 * @param x: x coordinate 
-	 * @param y: y coordinate
-	 * @return the cell at x and y
+	 * Asks the user for the algorithms to race
+	 * @return true if at least two algorithms were chosen
 	 */
-	public Cell getCell(int x, int y) {
-		String key = this.generateKey(x,y);
-		return this.cells.get(key);
-		
+	private boolean chooseRaceAlgorithms() {
+		JList<ALGORITHMS> list = new JList<ALGORITHMS>(ALGORITHMS.values());
+		list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+		list.setVisibleRowCount(ALGORITHMS.values().length);
+		for(ALGORITHMS algorithm : raceAlgorithms) {
+			list.addSelectionInterval(algorithm.ordinal(), algorithm.ordinal());
+		}
+		int answer = JOptionPane.showConfirmDialog(this, new JScrollPane(list), "Algorithms to race", JOptionPane.OK_CANCEL_OPTION);
+		if(answer != JOptionPane.OK_OPTION) {
+			return false;
+		}
+		if(list.getSelectedValuesList().size() < 2) {
+			JOptionPane.showMessageDialog(null, "Please select at least two algorithms to race.");
+			return false;
+		}
+		raceAlgorithms = list.getSelectedValuesList();
+		return true;
+	}
+	
+	/**
+	 * Returns true if Run races several algorithms
+	 * @return true in race mode
+	 */
+	public boolean isRaceMode() {
+		return raceBox.isSelected();
+	}
+	
+	/**
+	 * Returns the algorithms chosen for the last race
+	 * @return the algorithms to race
+	 */
+	public List<ALGORITHMS> getRaceAlgorithms() {
+		return raceAlgorithms;
+	}
+	
+	/**
+	 * Shows the outcome of a race in a window of split panes with a comparison table. May be called from any thread.
+	 * @param grid: the grid the race searched
+	 * @param results: the outcome of every algorithm
+	 */
+	public void showRace(ReadOnlyGrid grid, List<AlgorithmRace.Result> results) {
+		if(!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					showRace(grid, results);
+				}
+			});
+			return;
+		}
+		new RaceView(this, grid, source, destination, results);
 	}
 	
 	/**
@@ -639,12 +1276,9 @@ public class Grid extends JPanel {
 	 * resets the path and visited nodes
 	 */
 	public void reset() {
-		for(Cell cell: cells.values()) {
-    		cell.isPath = false;
-    		cell.previous = null;
-    		cell.isVisited = false;
-    		//cell.weight = 0;
-    	}
+		//stop the replay of the previous run
+		this.stopReplay();
+		this.clearMarks();
 		//Invoke all the registered listeners
 		for(ViewListener listener : listeners) {
 			listener.resetModel();
@@ -652,42 +1286,30 @@ public class Grid extends JPanel {
     	repaint();
 	}
 	
+	/**
+	 * Removes the visited and path highlights of all cells
+	 */
+	private void clearMarks() {
+		for(int i = 0; i < cells.length; i++) {
+			cells[i] &= ~(VISITED | BACKWARD | PATH);
+		}
+		this.drawCells();
+	}
+	
 	/**
 	 * clears weights of all cells
 	 */
 	public void clearWeight() {
-		for(Cell cell: cells.values()) {
-    		cell.isWeightCell = false;
-    	}
+		for(int i = 0; i < cells.length; i++) {
+			cells[i] &= ~WEIGHT;
+		}
+		this.drawCells();
 		//Invoke all the registered listeners
 		for(ViewListener listener : listeners) {
 			listener.resetWeight();
 		}
     	repaint();
 	}
-	
-	/**
-	 * Creates and returns key of format "0x0y" for the coordinates x and y
-	 * @param x: x coordinate
-	 * @param y: y coordinate
-	 * @return key in the format "0x0y"
-	 */
-	public String generateKey(int x, int y) {
-		return String.format("%02d", x) + String.format("%02d", y);
-	}
-	
-	/**
-	 * Creates and returns key of format "0x0y" of a given cell
-	 * @param cell: cell to return its key
-	 * @return key of the cell
-	 */
-	public String generateKey(Cell cell) {
-		return String.format("%02d", cell.x) + String.format("%02d", cell.y);
-	}
 
 	
 }
-
-	
-
-
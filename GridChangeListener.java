@@ -0,0 +1,18 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * A listener to be called when cells of the grid change
+ */
+interface GridChangeListener{
+	/**
+	 * Called after the wall or cost of one cell changed
+	 * @param index: index of the cell
+	 */
+	public void cellChanged(int index);
+
+	/**
+	 * Called after walls or costs of the whole grid changed
+	 */
+	public void gridChanged();
+}
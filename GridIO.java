@@ -0,0 +1,264 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class reads and writes grids.
+ * In the text format every line is a row of the grid and every character a cell:
+ * '#' is a wall, '.' a cell of cost 1, 'W' a weight node and the digits 1 to 9 cells of that cost.
+ * Empty lines and lines starting with ';' are ignored.
+ *
+ * The binary format is a 32 byte header (magic, format version, rows, columns,
+ * source index, destination index, maximum cost) followed by the wall bitset, one long
+ * per 64 cells, and the cost of every cell as a double, all little endian as on most machines.
+ * Binary files are memory mapped and copied into the grid in bulk without any parsing.
+ * The costs are then checked: like in the text format they must be finite and at least 1,
+ * and the maximum cost of the grid is computed from them, the one in the header is not trusted.
+ */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+public class GridIO {
+	//"PFGR"
+	private static final int MAGIC = 0x50464752;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 32;
+	//largest part of a file mapped at once, a multiple of 8 bytes
+	private static final long MAX_MAPPING = 1L << 30;
+	//size of the buffer a grid is streamed through when it is written
+	private static final int WRITE_BUFFER_BYTES = 1 << 16;
+	//smallest cost of a cell in a file, the text format has no cheaper cells either
+	private static final double MIN_COST = 1;
+
+	/**
+	 * A grid read from a file, with the source and destination saved along with it
+	 */
+	public static class GridFile {
+		GridModel grid;
+		//indices of the source and destination, -1 if not set
+		int source;
+		int destination;
+
+		public GridFile(GridModel grid, int source, int destination) {
+			this.grid = grid;
+			this.source = source;
+			this.destination = destination;
+		}
+	}
+
+	private GridIO() {
+	}
+
+	/**
+	 * Reads a grid in the text format
+	 * @param path: path of the file
+	 * @return the grid
+	 * @throws IOException if the file can not be read or is not a valid grid
+	 */
+	public static GridModel readText(Path path) throws IOException {
+		ArrayList<String> lines = new ArrayList<String>();
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(!line.isEmpty() && line.charAt(0) != ';') {
+					lines.add(line);
+				}
+			}
+		}
+		if(lines.isEmpty()) {
+			throw new IOException(path + ": no rows");
+		}
+
+		int rows = lines.size();
+		int columns = lines.get(0).length();
+		//'.' cells keep the default cost of 1
+		GridModel grid = new GridModel(rows, columns);
+		for(int x = 0; x < rows; x++) {
+			String line = lines.get(x);
+			if(line.length() != columns) {
+				throw new IOException(path + ": row " + (x + 1) + " has " + line.length() + " cells instead of " + columns);
+			}
+			for(int y = 0; y < columns; y++) {
+				char c = line.charAt(y);
+				int index = grid.index(x, y);
+				if(c == '#') {
+					grid.toggleWall(index);
+				}
+				else if(c == 'W') {
+					grid.toggleWeight(index);
+				}
+				else if(c >= '1' && c <= '9') {
+					grid.setCost(index, c - '0');
+				}
+				else if(c != '.') {
+					throw new IOException(path + ": unknown cell '" + c + "' in row " + (x + 1));
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Reads a grid in the binary format, or in the text format if the file does not
+	 * start with the binary header
+	 * @param path: path of the file
+	 * @return the grid with its source and destination, -1 for the text format
+	 * @throws IOException if the file can not be read or is not a valid grid
+	 */
+	public static GridFile read(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() >= HEADER_BYTES
+					&& channel.map(FileChannel.MapMode.READ_ONLY, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() == MAGIC) {
+				return readBinary(channel, path);
+			}
+		}
+		return new GridFile(readText(path), -1, -1);
+	}
+
+	/**
+	 * Reads a grid in the binary format
+	 * @param path: path of the file
+	 * @return the grid with its source and destination
+	 * @throws IOException if the file can not be read or is not a valid grid
+	 */
+	public static GridFile readBinary(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return readBinary(channel, path);
+		}
+	}
+
+	private static GridFile readBinary(FileChannel channel, Path path) throws IOException {
+		if(channel.size() < HEADER_BYTES) {
+			throw new IOException(path + ": not a grid file");
+		}
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		if(header.getInt() != MAGIC) {
+			throw new IOException(path + ": not a grid file");
+		}
+		int version = header.getInt();
+		if(version != FORMAT_VERSION) {
+			throw new IOException(path + ": unsupported format version " + version);
+		}
+		int rows = header.getInt();
+		int columns = header.getInt();
+		int source = header.getInt();
+		int destination = header.getInt();
+		//the maximum cost is computed from the costs below
+		header.getDouble();
+
+		long size = (long)rows * columns;
+		if(rows <= 0 || columns <= 0 || size > Integer.MAX_VALUE - 8) {
+			throw new IOException(path + ": invalid size " + rows + "x" + columns);
+		}
+		if(source < -1 || source >= size || destination < -1 || destination >= size) {
+			throw new IOException(path + ": source or destination outside the grid");
+		}
+		//the planes are overwritten below, so they are not initialised
+		GridModel grid = new GridModel(rows, columns, false);
+		long wallBytes = grid.walls.length * 8L;
+		long costBytes = size * 8L;
+		if(channel.size() != HEADER_BYTES + wallBytes + costBytes) {
+			throw new IOException(path + ": expected " + (HEADER_BYTES + wallBytes + costBytes) + " bytes, found " + channel.size());
+		}
+
+		//copy both planes in bulk, a mapping is limited to 2GB so large planes are mapped in parts
+		long position = HEADER_BYTES;
+		for(int done = 0; done < grid.walls.length; ) {
+			int count = (int)Math.min(grid.walls.length - done, MAX_MAPPING / 8);
+			channel.map(FileChannel.MapMode.READ_ONLY, position, count * 8L)
+					.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(grid.walls, done, count);
+			done += count;
+			position += count * 8L;
+		}
+		for(int done = 0; done < size; ) {
+			int count = (int)Math.min(size - done, MAX_MAPPING / 8);
+			channel.map(FileChannel.MapMode.READ_ONLY, position, count * 8L)
+					.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(grid.costs, done, count);
+			done += count;
+			position += count * 8L;
+		}
+		grid.maxCost = checkCosts(grid, path);
+		return new GridFile(grid, source, destination);
+	}
+
+	/**
+	 * Checks that every cost of a grid can be stored in a file
+	 * @param grid: the grid
+	 * @param path: path of the file, for the message
+	 * @return the largest cost
+	 * @throws IOException if a cost is not a finite number or is less than MIN_COST
+	 */
+	private static double checkCosts(GridModel grid, Path path) throws IOException {
+		double maxCost = MIN_COST;
+		for(int i = 0; i < grid.size(); i++) {
+			double cost = grid.costs[i];
+			//NaN fails the comparison too
+			if(!(cost >= MIN_COST) || Double.isInfinite(cost)) {
+				throw new IOException(path + ": cell " + i + " costs " + cost + ", costs must be finite and at least " + MIN_COST);
+			}
+			maxCost = Math.max(maxCost, cost);
+		}
+		return maxCost;
+	}
+
+	/**
+	 * Writes a grid in the binary format, streaming it to the file
+	 * @param path: path of the file, replaced if it exists
+	 * @param grid: the grid
+	 * @param source: index of the source, -1 if not set
+	 * @param destination: index of the destination, -1 if not set
+	 * @throws IOException if the file can not be written or a cost can not be read back
+	 */
+	public static void writeBinary(Path path, GridModel grid, int source, int destination) throws IOException {
+		//a grid the reader would reject is not written
+		double maxCost = checkCosts(grid, path);
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC);
+			buffer.putInt(FORMAT_VERSION);
+			buffer.putInt(grid.rows);
+			buffer.putInt(grid.columns);
+			buffer.putInt(source);
+			buffer.putInt(destination);
+			buffer.putDouble(maxCost);
+			//the header is a multiple of 8 bytes, so the buffer is flushed whenever a long does not fit
+			for(long bits : grid.walls) {
+				if(!buffer.hasRemaining()) {
+					flush(channel, buffer);
+				}
+				buffer.putLong(bits);
+			}
+			for(int i = 0; i < grid.size(); i++) {
+				if(!buffer.hasRemaining()) {
+					flush(channel, buffer);
+				}
+				buffer.putDouble(grid.costs[i]);
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	/**
+	 * Writes the content of the buffer to the channel and empties the buffer
+	 * @param channel: the file
+	 * @param buffer: the buffer
+	 * @throws IOException if the file can not be written
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
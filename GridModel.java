@@ -0,0 +1,250 @@
+package pathfindingVisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * @author Aayushi Pandey
+ * This class defines the storage of the grid.
+ * Every cell is addressed by a single index (row * columns + column)
+ * and its properties are kept in flat arrays instead of one object per cell.
+ * A single GridModel is shared by all the algorithms, every edit increments its version
+ * so cached results computed on an older grid can be recognised.
+ * Incremental algorithms register a GridChangeListener to learn which cells changed.
+ * The last snapshot is kept, the next one shares the parts of the grid no edit touched since.
+ */
+public class GridModel implements ReadOnlyGrid {
+	//cost of entering a weight node
+	public static final double WEIGHT_COST = 15;
+
+	int rows;
+	int columns;
+	int size;
+	//one bit per cell, set for the walls
+	long[] walls;
+	//cost of entering each cell
+	double[] costs;
+	//no cell costs more than this
+	double maxCost;
+	//incremented on every edit
+	long version;
+	private ArrayList<GridChangeListener> listeners = new ArrayList<GridChangeListener>();
+	//the snapshot taken last, null if the whole grid changed since
+	private GridSnapshot lastSnapshot;
+	//parts of the grid edited since the last snapshot, see GridSnapshot.CHUNK_SIZE
+	private boolean[] changedChunks;
+
+	/**
+	 * argumented constructor
+	 * @param rows: number of rows
+	 * @param columns: number of columns
+	 */
+	public GridModel(int rows, int columns) {
+		this(rows, columns, true);
+	}
+
+	/**
+	 * argumented constructor
+	 * @param rows: number of rows
+	 * @param columns: number of columns
+	 * @param initialise: false if the caller fills walls, costs and maxCost itself
+	 */
+	GridModel(int rows, int columns, boolean initialise) {
+		this.rows = rows;
+		this.columns = columns;
+		this.size = rows * columns;
+		this.walls = new long[(this.size + 63) >>> 6];
+		this.costs = new double[this.size];
+		if(initialise) {
+			Arrays.fill(this.costs, 1);
+		}
+		this.maxCost = 1;
+		this.changedChunks = new boolean[GridSnapshot.chunkCount(this.size)];
+	}
+
+	/**
+	 * Returns the number of rows
+	 * @return number of rows
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Returns the number of columns
+	 * @return number of columns
+	 */
+	public int getColumns() {
+		return this.columns;
+	}
+
+	/**
+	 * Returns the number of edits made to the grid so far
+	 * @return version of the grid
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns an immutable copy of the grid, which threads may search while the grid is edited.
+	 * Only the parts edited since the last snapshot are copied, the call must not overlap an edit.
+	 * @return snapshot of the current version
+	 */
+	public GridSnapshot snapshot() {
+		if(this.lastSnapshot == null || this.lastSnapshot.getVersion() != this.version) {
+			this.lastSnapshot = new GridSnapshot(this, this.lastSnapshot, this.changedChunks);
+			Arrays.fill(this.changedChunks, false);
+		}
+		return this.lastSnapshot;
+	}
+
+	/**
+	 * Adds a listener called after every edit
+	 * @param listener: listener for the grid
+	 */
+	public void addGridChangeListener(GridChangeListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener added with addGridChangeListener
+	 * @param listener: listener for the grid
+	 */
+	public void removeGridChangeListener(GridChangeListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the index of the cell at x and y
+	 * @param x: row of the cell
+	 * @param y: column of the cell
+	 * @return index of the cell
+	 */
+	public int index(int x, int y) {
+		return x * this.columns + y;
+	}
+
+	/**
+	 * Returns total number of cells
+	 * @return number of cells
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns true if the cell at index is a wall
+	 * @param index: index of the cell
+	 * @return true if the cell is a wall
+	 */
+	public boolean isWall(int index) {
+		return (this.walls[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns true if the cell at index is a weight node
+	 * @param index: index of the cell
+	 * @return true if the cell is a weight node
+	 */
+	public boolean isWeightNode(int index) {
+		return this.costs[index] != 1;
+	}
+
+	/**
+	 * Returns the cost of entering the cell at index
+	 * @param index: index of the cell
+	 * @return 15 for the weight nodes, 1 for the other cells unless set with setCost
+	 */
+	public double cost(int index) {
+		return this.costs[index];
+	}
+
+	/**
+	 * Sets the cost of entering the cell at index.
+	 * Only Bellman-Ford supports negative costs, delta-stepping rejects them, and the heuristics of A* assume
+	 * no cost is less than 1.
+	 * @param index: index of the cell
+	 * @param cost: the cost, a finite number
+	 */
+	public void setCost(int index, double cost) {
+		if(Double.isNaN(cost) || Double.isInfinite(cost)) {
+			throw new IllegalArgumentException("the cost of a cell must be a finite number, not " + cost);
+		}
+		this.costs[index] = cost;
+		this.maxCost = Math.max(this.maxCost, cost);
+		this.version++;
+		this.changedChunks[index >>> GridSnapshot.CHUNK_BITS] = true;
+		this.notifyCellChanged(index);
+	}
+
+	/**
+	 * Returns a cost no cell is more expensive than
+	 * @return upper bound of the cell costs
+	 */
+	public double maxCost() {
+		return this.maxCost;
+	}
+
+	/**
+	 * Toggles the wall at index, a wall can not be a weight node
+	 * @param index: index of the cell
+	 */
+	public void toggleWall(int index) {
+		this.costs[index] = 1;
+		this.walls[index >>> 6] ^= 1L << index;
+		this.version++;
+		this.changedChunks[index >>> GridSnapshot.CHUNK_BITS] = true;
+		this.notifyCellChanged(index);
+	}
+
+	/**
+	 * Toggles the weight node at index, a weight node can not be a wall
+	 * @param index: index of the cell
+	 */
+	public void toggleWeight(int index) {
+		this.walls[index >>> 6] &= ~(1L << index);
+		this.costs[index] = this.isWeightNode(index) ? 1 : WEIGHT_COST;
+		this.maxCost = Math.max(this.maxCost, WEIGHT_COST);
+		this.version++;
+		this.changedChunks[index >>> GridSnapshot.CHUNK_BITS] = true;
+		this.notifyCellChanged(index);
+	}
+
+	/**
+	 * Removes all walls and weight nodes
+	 */
+	public void clear() {
+		Arrays.fill(this.walls, 0);
+		Arrays.fill(this.costs, 1);
+		this.maxCost = 1;
+		this.version++;
+		this.lastSnapshot = null;
+		this.notifyGridChanged();
+	}
+
+	/**
+	 * Removes all weight nodes
+	 */
+	public void clearWeights() {
+		Arrays.fill(this.costs, 1);
+		this.maxCost = 1;
+		this.version++;
+		this.lastSnapshot = null;
+		this.notifyGridChanged();
+	}
+
+	//Invokes all the registered listeners for the cell at index
+	private void notifyCellChanged(int index) {
+		for(int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).cellChanged(index);
+		}
+	}
+
+	//Invokes all the registered listeners for the whole grid
+	private void notifyGridChanged() {
+		for(int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).gridChanged();
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An immutable copy of a grid at one version.
+ * Every algorithm searches a snapshot like any other grid, and since nothing can change it,
+ * any number of threads may search the same snapshot at once, each with its own algorithm object.
+ * Edits are made to the GridModel, a new snapshot is then taken from it.
+ *
+ * The walls and costs are stored in parts of CHUNK_SIZE cells. A snapshot shares the parts
+ * no edit touched with the previous snapshot of the same grid, so taking a snapshot after
+ * a few edits only copies the parts they are in. Algorithms compare the parts of two snapshots
+ * to learn which cells may differ between them.
+ */
+import java.util.Arrays;
+
+public final class GridSnapshot implements ReadOnlyGrid {
+	//a part holds 2^CHUNK_BITS cells, a multiple of the 64 walls of a long
+	static final int CHUNK_BITS = 12;
+	static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final int rows;
+	private final int columns;
+	private final int size;
+	//one bit per cell, set for the walls, walls[part][cell in the part / 64]
+	private final long[][] walls;
+	//cost of entering each cell, costs[part][cell in the part]
+	private final double[][] costs;
+	private final double maxCost;
+	private final long version;
+
+	/**
+	 * argumented constructor, copies walls, costs and version of the grid
+	 * @param grid: the grid to copy
+	 * @param previous: the previous snapshot of the grid, null to copy every part
+	 * @param changed: true for the parts edited since the previous snapshot
+	 */
+	GridSnapshot(GridModel grid, GridSnapshot previous, boolean[] changed) {
+		this.rows = grid.rows;
+		this.columns = grid.columns;
+		this.size = grid.size;
+		int chunks = chunkCount(this.size);
+		this.walls = new long[chunks][];
+		this.costs = new double[chunks][];
+		for(int chunk = 0; chunk < chunks; chunk++) {
+			if(previous != null && !changed[chunk]) {
+				this.walls[chunk] = previous.walls[chunk];
+				this.costs[chunk] = previous.costs[chunk];
+			}
+			else {
+				//the last part is padded, its extra cells are never read
+				int first = chunk << CHUNK_BITS;
+				this.walls[chunk] = Arrays.copyOfRange(grid.walls, first >>> 6, (first + CHUNK_SIZE) >>> 6);
+				this.costs[chunk] = Arrays.copyOfRange(grid.costs, first, first + CHUNK_SIZE);
+			}
+		}
+		this.maxCost = grid.maxCost;
+		this.version = grid.version;
+	}
+
+	/**
+	 * Returns the number of parts the cells of a grid are stored in
+	 * @param size: number of cells
+	 * @return number of parts
+	 */
+	static int chunkCount(int size) {
+		return (size + CHUNK_MASK) >>> CHUNK_BITS;
+	}
+
+	/**
+	 * Returns true if two grids hold the same walls and costs in a range of cells for sure:
+	 * they are the same grid, or snapshots sharing the parts of the range.
+	 * False means the cells may differ.
+	 * @param grid: a grid
+	 * @param other: another grid with the same number of cells
+	 * @param from: index of the first cell of the range
+	 * @param to: index after the last cell of the range
+	 * @return true if the cells are the same in both grids
+	 */
+	static boolean sameCells(ReadOnlyGrid grid, ReadOnlyGrid other, int from, int to) {
+		if(grid == other) {
+			return true;
+		}
+		if(!(grid instanceof GridSnapshot) || !(other instanceof GridSnapshot) || grid.size() != other.size()) {
+			return false;
+		}
+		GridSnapshot first = (GridSnapshot)grid;
+		GridSnapshot second = (GridSnapshot)other;
+		from = Math.max(from, 0);
+		to = Math.min(to, first.size);
+		for(int chunk = from >>> CHUNK_BITS; from < to && chunk <= (to - 1) >>> CHUNK_BITS; chunk++) {
+			if(first.walls[chunk] != second.walls[chunk] || first.costs[chunk] != second.costs[chunk]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int getRows() {
+		return this.rows;
+	}
+
+	@Override
+	public int getColumns() {
+		return this.columns;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public int index(int x, int y) {
+		return x * this.columns + y;
+	}
+
+	@Override
+	public boolean isWall(int index) {
+		return (this.walls[index >>> CHUNK_BITS][(index & CHUNK_MASK) >>> 6] & (1L << index)) != 0;
+	}
+
+	@Override
+	public boolean isWeightNode(int index) {
+		return this.cost(index) != 1;
+	}
+
+	@Override
+	public double cost(int index) {
+		return this.costs[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	@Override
+	public double maxCost() {
+		return this.maxCost;
+	}
+
+	@Override
+	public long getVersion() {
+		return this.version;
+	}
+
+	@Override
+	//a snapshot is already immutable
+	public GridSnapshot snapshot() {
+		return this;
+	}
+
+	@Override
+	//a snapshot never changes, so its listeners would never be called,
+	//ignoring them also keeps algorithms created on several threads from writing a shared list
+	public void addGridChangeListener(GridChangeListener listener) {
+	}
+
+	@Override
+	public void removeGridChangeListener(GridChangeListener listener) {
+	}
+}
@@ -0,0 +1,37 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An enum class of heuristics
+ * This class defines available estimates, all of them assume every move costs at least 1
+ */
+enum HEURISTIC implements Heuristic{
+	MANHATTAN {
+		@Override
+		public double estimate(int x, int y, int destinationX, int destinationY) {
+			return Math.abs(x - destinationX) + Math.abs(y - destinationY);
+		}
+	},
+	OCTILE {
+		@Override
+		public double estimate(int x, int y, int destinationX, int destinationY) {
+			int dx = Math.abs(x - destinationX);
+			int dy = Math.abs(y - destinationY);
+			return Math.max(dx, dy) + (Math.sqrt(2) - 1) * Math.min(dx, dy);
+		}
+	},
+	EUCLIDEAN {
+		@Override
+		public double estimate(int x, int y, int destinationX, int destinationY) {
+			int dx = x - destinationX;
+			int dy = y - destinationY;
+			return Math.sqrt(dx * dx + dy * dy);
+		}
+	},
+	ZERO {
+		@Override
+		public double estimate(int x, int y, int destinationX, int destinationY) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,503 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for hierarchical path-finding A* (HPA*).
+ * The grid is split into square clusters. Where two clusters touch, every run of free cell pairs
+ * across the border gets one entrance in its middle, or one at each end for long runs.
+ * Each cluster keeps the cost of the shortest path inside it between every two of its entrances.
+ *
+ * A query first searches the small graph of entrances, starting from the entrances the source
+ * reaches inside its cluster and ending at the ones reaching the destination inside its cluster.
+ * Only the clusters on the chosen route are then searched cell by cell to fill in the path.
+ * Paths are usually within a few percent of the shortest ones. Because the route crosses
+ * the borders at the entrances only, nearby cells on both sides of a border may get a longer detour.
+ *
+ * Edits mark the edited cluster, and its neighbour when the cell is on their border, as dirty.
+ * Dirty clusters are built again at the start of the next query.
+ * Like A*, the Manhattan estimate assumes no cost is less than 1.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class HPAStarAlgorithm extends Graph implements GridChangeListener {
+
+	//default number of rows and columns of a cluster
+	public static final int DEFAULT_CLUSTER_SIZE = 16;
+	//runs of free cell pairs at least this long get two entrances
+	private static final int LONG_RUN = 6;
+
+	private int clusterSize;
+	private int clusterRows;
+	private int clusterColumns;
+	//cells of the entrances of each cluster
+	private int[][] entrances;
+	//cost of the shortest path inside a cluster from its entrance i to its entrance j, at i * count + j
+	private double[][] distances;
+	//position of a cell in the entrances of its cluster, -1 if the cell is not an entrance
+	private int[] slot;
+	//clusters to build again before the next query
+	private boolean[] dirty;
+	private boolean anyDirty;
+	//version of the grid the clusters are built for
+	private long builtVersion;
+
+	//priority queue of the entrances reached but not yet visited, kept between runs
+	private IndexedMinHeap queue;
+
+	//scratch state of the searches inside one cluster, indexed by the position of the cell in the cluster
+	private double[] localDistance;
+	private int[] localParent;
+	private IndexedMinHeap localQueue;
+
+	public HPAStarAlgorithm(ReadOnlyGrid grid) {
+		this(grid, DEFAULT_CLUSTER_SIZE);
+	}
+
+	public HPAStarAlgorithm(ReadOnlyGrid grid, int clusterSize) {
+		super(grid);
+		this.clusterSize = clusterSize;
+		this.clusterRows = (this.rows + clusterSize - 1) / clusterSize;
+		this.clusterColumns = (this.columns + clusterSize - 1) / clusterSize;
+		int clusters = this.clusterRows * this.clusterColumns;
+		this.entrances = new int[clusters][];
+		this.distances = new double[clusters][];
+		this.slot = new int[this.grid.size()];
+		Arrays.fill(this.slot, -1);
+		this.dirty = new boolean[clusters];
+		Arrays.fill(this.dirty, true);
+		this.anyDirty = true;
+		this.builtVersion = this.grid.getVersion();
+		this.queue = new IndexedMinHeap(this.grid.size());
+		this.localDistance = new double[clusterSize * clusterSize];
+		this.localParent = new int[clusterSize * clusterSize];
+		this.localQueue = new IndexedMinHeap(clusterSize * clusterSize);
+		//learn which cells change between runs
+		this.grid.addGridChangeListener(this);
+	}
+
+	@Override
+	//only the clusters whose cells, or the cells around them, may differ in the new grid are built again
+	public void setGrid(ReadOnlyGrid grid) {
+		if(grid == this.grid) {
+			return;
+		}
+		ReadOnlyGrid previous = this.grid;
+		previous.removeGridChangeListener(this);
+		super.setGrid(grid);
+		this.grid.addGridChangeListener(this);
+		for(int cluster = 0; cluster < this.dirty.length; cluster++) {
+			int x0 = cluster / this.clusterColumns * this.clusterSize;
+			int x1 = Math.min(x0 + this.clusterSize, this.rows);
+			if(!GridSnapshot.sameCells(previous, grid, (x0 - 1) * this.columns, (x1 + 1) * this.columns)) {
+				this.dirty[cluster] = true;
+				this.anyDirty = true;
+			}
+		}
+		this.builtVersion = this.grid.getVersion();
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		this.buildDirtyClusters();
+		this.queue.clear();
+		//the local searches read the clusters of the source and the destination
+		this.state.include(this.source);
+		this.state.include(this.destination);
+		int sourceCluster = this.clusterOf(this.source);
+		int destinationCluster = this.clusterOf(this.destination);
+		int destinationX = this.destination / this.columns;
+		int destinationY = this.destination % this.columns;
+
+		//cost from each entrance of the destination's cluster to the destination, inside the cluster
+		this.localSearch(this.destination, destinationCluster, true);
+		int[] lastEntrances = this.entrances[destinationCluster];
+		double[] toDestination = new double[lastEntrances.length];
+		for(int i = 0; i < lastEntrances.length; i++) {
+			toDestination[i] = this.localDistance[this.localIndex(lastEntrances[i], destinationCluster)];
+		}
+
+		//cost from the source to each entrance of its cluster, the destination may be reached without leaving it
+		this.localSearch(this.source, sourceCluster, false);
+		double best = sourceCluster == destinationCluster
+				? this.localDistance[this.localIndex(this.destination, sourceCluster)] : Double.POSITIVE_INFINITY;
+		int bestEntrance = -1;
+		for(int entrance : this.entrances[sourceCluster]) {
+			double distance = this.localDistance[this.localIndex(entrance, sourceCluster)];
+			if(distance != Double.POSITIVE_INFINITY) {
+				this.state.setDistance(entrance, distance);
+				//the source itself may be an entrance, it has no parent then
+				if(entrance != this.source) {
+					this.state.setParent(entrance, this.source);
+				}
+				this.queue.insert(entrance, distance + this.estimate(entrance, destinationX, destinationY), -distance);
+				this.stats.push(this.queue.size());
+			}
+		}
+
+		//Loop through the queue removing the entrance with the minimum distance + estimate
+		//until no entrance left can lead to a cheaper path than the best one found
+		while(!this.queue.isEmpty() && this.queue.peekKey() < best) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return bestEntrance != -1 ? this.refine(bestEntrance, true) : this.partialPath();
+			}
+			int current = this.queue.poll();
+			this.stats.pop();
+			this.stats.expand();
+			this.state.setVisited(current);
+			//Invoke all the registered listeners
+			this.notifyVisited(current);
+			int cluster = this.clusterOf(current);
+			int currentSlot = this.slot[current];
+			double currentDistance = this.state.getDistance(current);
+
+			//the entrance is in the destination's cluster, the path may end here
+			if(cluster == destinationCluster && currentDistance + toDestination[currentSlot] < best) {
+				best = currentDistance + toDestination[currentSlot];
+				bestEntrance = current;
+			}
+
+			//the other entrances of the cluster
+			int[] clusterEntrances = this.entrances[cluster];
+			double[] clusterDistances = this.distances[cluster];
+			for(int j = 0; j < clusterEntrances.length; j++) {
+				this.relax(current, clusterEntrances[j], currentDistance + clusterDistances[currentSlot * clusterEntrances.length + j],
+						destinationX, destinationY);
+			}
+			//the entrances across the border
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour != -1 && this.slot[neighbour] != -1 && this.clusterOf(neighbour) != cluster
+						&& !this.grid.isWall(neighbour)) {
+					this.relax(current, neighbour, currentDistance + this.grid.cost(neighbour), destinationX, destinationY);
+				}
+			}
+		}
+
+		if(best == Double.POSITIVE_INFINITY) {
+			return new ArrayList<Node>();
+		}
+		return this.refine(bestEntrance, true);
+	}
+
+	@Override
+	/**
+	 * Implements GridChangeListener's method cellChanged.
+	 * Marks the cluster of the cell as dirty, and the neighbouring cluster when the cell is on their border.
+	 */
+	public void cellChanged(int index) {
+		//the grid also changed in a way that was not reported, build everything again
+		if(this.grid.getVersion() != this.builtVersion + 1) {
+			this.gridChanged();
+			return;
+		}
+		this.builtVersion = this.grid.getVersion();
+		int x = index / this.columns;
+		int y = index % this.columns;
+		int clusterX = x / this.clusterSize;
+		int clusterY = y / this.clusterSize;
+		this.markDirty(clusterX, clusterY);
+		//the entrances of the neighbour depend on the cells on both sides of the border
+		if(x % this.clusterSize == 0) {
+			this.markDirty(clusterX - 1, clusterY);
+		}
+		if(x % this.clusterSize == this.clusterSize - 1) {
+			this.markDirty(clusterX + 1, clusterY);
+		}
+		if(y % this.clusterSize == 0) {
+			this.markDirty(clusterX, clusterY - 1);
+		}
+		if(y % this.clusterSize == this.clusterSize - 1) {
+			this.markDirty(clusterX, clusterY + 1);
+		}
+	}
+
+	@Override
+	/**
+	 * Implements GridChangeListener's method gridChanged.
+	 * Marks every cluster as dirty.
+	 */
+	public void gridChanged() {
+		Arrays.fill(this.dirty, true);
+		this.anyDirty = true;
+		this.builtVersion = this.grid.getVersion();
+	}
+
+	@Override
+	protected ArrayList<Node> partialPath() {
+		//only entrances are reached by the search, the path ends at the one closest to the destination
+		return this.refine(this.closestReached(), false);
+	}
+
+	@Override
+	//the path depends on every cell of the clusters of the reached entrances, the source and the destination
+	public int[] getExploredBounds() {
+		int[] bounds = this.state.getBounds();
+		bounds[0] = bounds[0] / this.clusterSize * this.clusterSize;
+		bounds[1] = bounds[1] / this.clusterSize * this.clusterSize;
+		bounds[2] = Math.min(this.rows - 1, (bounds[2] / this.clusterSize + 1) * this.clusterSize - 1);
+		bounds[3] = Math.min(this.columns - 1, (bounds[3] / this.clusterSize + 1) * this.clusterSize - 1);
+		return bounds;
+	}
+
+	/**
+	 * Returns the number of entrances of all clusters
+	 * @return number of nodes of the graph of entrances
+	 */
+	public int getEntranceCount() {
+		this.buildDirtyClusters();
+		int count = 0;
+		for(int[] clusterEntrances : this.entrances) {
+			count += clusterEntrances.length;
+		}
+		return count;
+	}
+
+	//Lowers the distance of an entrance reached from another one
+	private void relax(int from, int to, double distance, int destinationX, int destinationY) {
+		if(this.state.isVisited(to) || distance >= this.state.getDistance(to)) {
+			return;
+		}
+		this.stats.relax();
+		double priority = distance + this.estimate(to, destinationX, destinationY);
+		if(this.queue.contains(to)) {
+			this.queue.decreaseKey(to, priority, -distance);
+		}
+		else {
+			this.queue.insert(to, priority, -distance);
+			this.stats.push(this.queue.size());
+		}
+		this.state.setDistance(to, distance);
+		this.state.setParent(to, from);
+	}
+
+	/**
+	 * Fills in the cells between the entrances the search went through
+	 * @param last: last entrance of the route, -1 if the path stays inside the source's cluster
+	 * @param toDestination: true to end the path at the destination, false to end it at last
+	 * @return an array list of nodes from the end of the path to the source (excluded)
+	 */
+	private ArrayList<Node> refine(int last, boolean toDestination) {
+		//the route from the source, through the entrances
+		ArrayList<Integer> route = new ArrayList<Integer>();
+		if(toDestination) {
+			route.add(this.destination);
+		}
+		for(int current = last; current != -1 && current != this.source; current = this.state.getParent(current)) {
+			route.add(current);
+		}
+		route.add(this.source);
+
+		ArrayList<Node> path = new ArrayList<Node>();
+		for(int i = 0; i + 1 < route.size(); i++) {
+			int to = route.get(i);
+			int from = route.get(i + 1);
+			if(to == from) {
+				continue;
+			}
+			int cluster = this.clusterOf(from);
+			if(this.clusterOf(to) != cluster) {
+				//a step across a border
+				path.add(new Node(to / this.columns, to % this.columns));
+				continue;
+			}
+			//search the cluster again for the cells between the two entrances
+			this.localSearch(from, cluster, false);
+			for(int current = to; current != from; ) {
+				path.add(new Node(current / this.columns, current % this.columns));
+				current = this.localParent[this.localIndex(current, cluster)];
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Runs Dijkstra's algorithm inside one cluster, the results are left in localDistance and localParent
+	 * @param start: index of the cell the search starts from
+	 * @param cluster: the cluster searched, it contains start
+	 * @param backward: false for the cost from start to every cell, true for the cost from every cell to start
+	 */
+	private void localSearch(int start, int cluster, boolean backward) {
+		int x0 = (cluster / this.clusterColumns) * this.clusterSize;
+		int y0 = (cluster % this.clusterColumns) * this.clusterSize;
+		int x1 = Math.min(x0 + this.clusterSize, this.rows);
+		int y1 = Math.min(y0 + this.clusterSize, this.columns);
+		Arrays.fill(this.localDistance, Double.POSITIVE_INFINITY);
+		this.localQueue.clear();
+		if(this.grid.isWall(start) && start != this.source) {
+			return;
+		}
+		int startLocal = this.localIndex(start, cluster);
+		this.localDistance[startLocal] = 0;
+		this.localParent[startLocal] = -1;
+		this.localQueue.insert(startLocal, 0);
+		//the cells searched inside the clusters, also while rebuilding them, count as work of the run
+		this.stats.push(this.localQueue.size());
+
+		while(!this.localQueue.isEmpty()) {
+			int currentLocal = this.localQueue.poll();
+			this.stats.pop();
+			this.stats.expand();
+			int x = x0 + currentLocal / this.clusterSize;
+			int y = y0 + currentLocal % this.clusterSize;
+			int current = x * this.columns + y;
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour == -1 || this.grid.isWall(neighbour)) {
+					continue;
+				}
+				int nx = neighbour / this.columns;
+				int ny = neighbour % this.columns;
+				if(nx < x0 || nx >= x1 || ny < y0 || ny >= y1) {
+					continue;
+				}
+				int neighbourLocal = (nx - x0) * this.clusterSize + (ny - y0);
+				//forward moves cost the neighbour's cost, backward moves cost the current cell's cost
+				double distance = this.localDistance[currentLocal] + this.grid.cost(backward ? current : neighbour);
+				if(distance < this.localDistance[neighbourLocal]) {
+					this.stats.relax();
+					if(this.localQueue.contains(neighbourLocal)) {
+						this.localQueue.decreaseKey(neighbourLocal, distance);
+					}
+					else {
+						this.localQueue.insert(neighbourLocal, distance);
+						this.stats.push(this.localQueue.size());
+					}
+					this.localDistance[neighbourLocal] = distance;
+					this.localParent[neighbourLocal] = current;
+				}
+			}
+		}
+	}
+
+	//Builds the entrances and distances of the dirty clusters
+	private void buildDirtyClusters() {
+		if(!this.anyDirty) {
+			return;
+		}
+		for(int cluster = 0; cluster < this.dirty.length; cluster++) {
+			if(this.dirty[cluster]) {
+				this.buildCluster(cluster);
+				this.dirty[cluster] = false;
+			}
+		}
+		this.anyDirty = false;
+	}
+
+	/**
+	 * Finds the entrances of a cluster on its four borders and the costs between them
+	 * @param cluster: the cluster to build
+	 */
+	private void buildCluster(int cluster) {
+		if(this.entrances[cluster] != null) {
+			for(int entrance : this.entrances[cluster]) {
+				this.slot[entrance] = -1;
+			}
+		}
+		int clusterX = cluster / this.clusterColumns;
+		int clusterY = cluster % this.clusterColumns;
+		int x0 = clusterX * this.clusterSize;
+		int y0 = clusterY * this.clusterSize;
+		int height = Math.min(this.clusterSize, this.rows - x0);
+		int width = Math.min(this.clusterSize, this.columns - y0);
+		int first = x0 * this.columns + y0;
+
+		int[] found = new int[4 * this.clusterSize];
+		int count = 0;
+		if(clusterX > 0) {
+			count = this.addEntrances(found, count, first, 1, -this.columns, width);
+		}
+		if(clusterX < this.clusterRows - 1) {
+			count = this.addEntrances(found, count, first + (height - 1) * this.columns, 1, this.columns, width);
+		}
+		if(clusterY > 0) {
+			count = this.addEntrances(found, count, first, this.columns, -1, height);
+		}
+		if(clusterY < this.clusterColumns - 1) {
+			count = this.addEntrances(found, count, first + width - 1, this.columns, 1, height);
+		}
+		int[] clusterEntrances = Arrays.copyOf(found, count);
+		this.entrances[cluster] = clusterEntrances;
+
+		//one search inside the cluster from every entrance
+		double[] clusterDistances = new double[count * count];
+		for(int i = 0; i < count; i++) {
+			this.localSearch(clusterEntrances[i], cluster, false);
+			for(int j = 0; j < count; j++) {
+				clusterDistances[i * count + j] = this.localDistance[this.localIndex(clusterEntrances[j], cluster)];
+			}
+		}
+		this.distances[cluster] = clusterDistances;
+	}
+
+	/**
+	 * Adds the entrances of one border of a cluster. A run of free cells whose neighbours
+	 * across the border are free as well gets an entrance in its middle, a long run one at each end.
+	 * @param found: entrances found so far
+	 * @param count: number of entrances in found
+	 * @param first: index of the first cell of the border, inside the cluster
+	 * @param step: difference of index between two cells along the border
+	 * @param across: difference of index between a cell and its neighbour across the border
+	 * @param length: number of cells of the border
+	 * @return number of entrances in found
+	 */
+	private int addEntrances(int[] found, int count, int first, int step, int across, int length) {
+		int runStart = -1;
+		for(int i = 0; i <= length; i++) {
+			int cell = first + i * step;
+			boolean open = i < length && !this.grid.isWall(cell) && !this.grid.isWall(cell + across);
+			if(open && runStart == -1) {
+				runStart = i;
+			}
+			else if(!open && runStart != -1) {
+				int runLength = i - runStart;
+				if(runLength < LONG_RUN) {
+					count = this.addEntrance(found, count, first + (runStart + runLength / 2) * step);
+				}
+				else {
+					count = this.addEntrance(found, count, first + runStart * step);
+					count = this.addEntrance(found, count, first + (i - 1) * step);
+				}
+				runStart = -1;
+			}
+		}
+		return count;
+	}
+
+	//Adds an entrance unless a corner cell was already added for the other border
+	private int addEntrance(int[] found, int count, int cell) {
+		if(this.slot[cell] != -1) {
+			return count;
+		}
+		this.slot[cell] = count;
+		found[count] = cell;
+		return count + 1;
+	}
+
+	//Marks a cluster as dirty, nothing is done outside the grid
+	private void markDirty(int clusterX, int clusterY) {
+		if(clusterX >= 0 && clusterX < this.clusterRows && clusterY >= 0 && clusterY < this.clusterColumns) {
+			this.dirty[clusterX * this.clusterColumns + clusterY] = true;
+			this.anyDirty = true;
+		}
+	}
+
+	//Returns the cluster of the cell at index
+	private int clusterOf(int index) {
+		return (index / this.columns / this.clusterSize) * this.clusterColumns + (index % this.columns) / this.clusterSize;
+	}
+
+	//Returns the position of a cell in the scratch arrays of its cluster
+	private int localIndex(int index, int cluster) {
+		int x = index / this.columns - (cluster / this.clusterColumns) * this.clusterSize;
+		int y = index % this.columns - (cluster % this.clusterColumns) * this.clusterSize;
+		return x * this.clusterSize + y;
+	}
+
+	//Returns the Manhattan distance from the node at index to the destination
+	private double estimate(int index, int destinationX, int destinationY) {
+		return Math.abs(index / this.columns - destinationX) + Math.abs(index % this.columns - destinationY);
+	}
+}
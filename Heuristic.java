@@ -0,0 +1,10 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An estimate of the cost between two cells used to guide the A* search.
+ * It must never be greater than the real cost for the path to be the shortest one.
+ */
+interface Heuristic{
+	public double estimate(int x, int y, int destinationX, int destinationY);
+}
@@ -0,0 +1,254 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class defines a binary min-heap of node indices with decrease-key, update and remove.
+ * Each node can be in the heap at most once, its position is tracked so the key
+ * can be lowered in O(log n) instead of adding a duplicate entry.
+ * Equal keys are ordered by a second key (smaller first) and then by node index,
+ * so the order in which nodes are removed is always the same.
+ */
+public class IndexedMinHeap {
+	//node indices ordered as a binary heap
+	private int[] heap;
+	//keys and tie breakers stored at the same position as their node in heap
+	private double[] keys;
+	private double[] ties;
+	//position of each node in heap, -1 if the node is not in the heap
+	private int[] position;
+	private int size;
+
+	/**
+	 * argumented constructor
+	 * @param capacity: number of nodes, node indices must be in [0, capacity)
+	 */
+	public IndexedMinHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.keys = new double[capacity];
+		this.ties = new double[capacity];
+		this.position = new int[capacity];
+		for(int i = 0; i < capacity; i++) {
+			this.position[i] = -1;
+		}
+	}
+
+	/**
+	 * Returns the number of nodes the heap can hold
+	 * @return capacity of the heap
+	 */
+	public int capacity() {
+		return this.position.length;
+	}
+
+	/**
+	 * Returns the number of nodes in the heap
+	 * @return number of nodes
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns true if the heap has no nodes
+	 * @return true if the heap is empty
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns true if the node is in the heap
+	 * @param index: index of the node
+	 * @return true if the node is in the heap
+	 */
+	public boolean contains(int index) {
+		return this.position[index] != -1;
+	}
+
+	/**
+	 * Adds a node to the heap
+	 * @param index: index of the node, must not be in the heap
+	 * @param key: key of the node
+	 */
+	public void insert(int index, double key) {
+		this.insert(index, key, 0);
+	}
+
+	/**
+	 * Adds a node to the heap
+	 * @param index: index of the node, must not be in the heap
+	 * @param key: key of the node
+	 * @param tie: second key used when keys are equal
+	 */
+	public void insert(int index, double key, double tie) {
+		int i = this.size++;
+		this.heap[i] = index;
+		this.keys[i] = key;
+		this.ties[i] = tie;
+		this.position[index] = i;
+		this.siftUp(i);
+	}
+
+	/**
+	 * Lowers the key of a node in the heap
+	 * @param index: index of the node, must be in the heap
+	 * @param key: new key, must not be greater than the current key
+	 */
+	public void decreaseKey(int index, double key) {
+		this.decreaseKey(index, key, 0);
+	}
+
+	/**
+	 * Lowers the key of a node in the heap
+	 * @param index: index of the node, must be in the heap
+	 * @param key: new key, must not be greater than the current key
+	 * @param tie: new second key
+	 */
+	public void decreaseKey(int index, double key, double tie) {
+		int i = this.position[index];
+		this.keys[i] = key;
+		this.ties[i] = tie;
+		this.siftUp(i);
+	}
+
+	/**
+	 * Changes the key of a node in the heap, it may be raised or lowered
+	 * @param index: index of the node, must be in the heap
+	 * @param key: new key
+	 * @param tie: new second key
+	 */
+	public void update(int index, double key, double tie) {
+		int i = this.position[index];
+		this.keys[i] = key;
+		this.ties[i] = tie;
+		this.siftUp(i);
+		this.siftDown(this.position[index]);
+	}
+
+	/**
+	 * Removes a node from the heap
+	 * @param index: index of the node, must be in the heap
+	 */
+	public void remove(int index) {
+		int i = this.position[index];
+		this.position[index] = -1;
+		this.size--;
+		if(i < this.size) {
+			//the last node takes the free position and moves to where it belongs
+			int last = this.heap[this.size];
+			this.move(this.size, i);
+			this.siftUp(i);
+			this.siftDown(this.position[last]);
+		}
+	}
+
+	/**
+	 * Returns the node with the minimum key without removing it
+	 * @return index of the node
+	 */
+	public int peek() {
+		return this.heap[0];
+	}
+
+	/**
+	 * Returns the minimum key in the heap
+	 * @return the minimum key
+	 */
+	public double peekKey() {
+		return this.keys[0];
+	}
+
+	/**
+	 * Returns the second key of the node with the minimum key
+	 * @return the second key
+	 */
+	public double peekTie() {
+		return this.ties[0];
+	}
+
+	/**
+	 * Removes and returns the node with the minimum key
+	 * @return index of the node
+	 */
+	public int poll() {
+		int min = this.heap[0];
+		this.position[min] = -1;
+		this.size--;
+		if(this.size > 0) {
+			this.move(this.size, 0);
+			this.siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Removes all nodes from the heap, only the nodes still in the heap are touched
+	 */
+	public void clear() {
+		for(int i = 0; i < this.size; i++) {
+			this.position[this.heap[i]] = -1;
+		}
+		this.size = 0;
+	}
+
+	//Moves the node up until its parent is not greater than it
+	private void siftUp(int i) {
+		int index = this.heap[i];
+		double key = this.keys[i];
+		double tie = this.ties[i];
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(!this.before(key, tie, index, this.keys[parent], this.ties[parent], this.heap[parent])) {
+				break;
+			}
+			this.move(parent, i);
+			i = parent;
+		}
+		this.place(i, index, key, tie);
+	}
+
+	//Moves the node down until none of its children is less than it
+	private void siftDown(int i) {
+		int index = this.heap[i];
+		double key = this.keys[i];
+		double tie = this.ties[i];
+		int half = this.size >>> 1;
+		while(i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if(right < this.size && this.before(this.keys[right], this.ties[right], this.heap[right], this.keys[child], this.ties[child], this.heap[child])) {
+				child = right;
+			}
+			if(!this.before(this.keys[child], this.ties[child], this.heap[child], key, tie, index)) {
+				break;
+			}
+			this.move(child, i);
+			i = child;
+		}
+		this.place(i, index, key, tie);
+	}
+
+	//Returns true if the first node orders before the second one
+	private boolean before(double key, double tie, int index, double otherKey, double otherTie, int otherIndex) {
+		if(key != otherKey) {
+			return key < otherKey;
+		}
+		if(tie != otherTie) {
+			return tie < otherTie;
+		}
+		return index < otherIndex;
+	}
+
+	//Copies the node at position from to position to
+	private void move(int from, int to) {
+		this.place(to, this.heap[from], this.keys[from], this.ties[from]);
+	}
+
+	//Stores a node at position i
+	private void place(int i, int index, double key, double tie) {
+		this.heap[i] = index;
+		this.keys[i] = key;
+		this.ties[i] = tie;
+		this.position[index] = i;
+	}
+}
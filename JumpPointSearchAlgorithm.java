@@ -0,0 +1,202 @@
+package pathfindingVisualizer;
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for Jump Point Search on a 4-connected grid.
+ * Every move costs 1, weight nodes are not taken into account.
+ *
+ * Of all the shortest paths the search only follows the ones making their vertical moves
+ * (along the rows) before their horizontal moves (along the columns) whenever both orders are possible.
+ * Moving horizontally, the search only turns where a wall behind forces it to;
+ * moving vertically, it stops on rows from which a horizontal jump finds a jump point.
+ * Only the nodes where the search may turn are added to the priority queue.
+ */
+
+import java.util.ArrayList;
+
+public class JumpPointSearchAlgorithm extends Graph {
+
+	//priority queue of the reached but not yet visited jump points, kept between runs
+	private IndexedMinHeap queue;
+	private int destinationX;
+	private int destinationY;
+
+	public JumpPointSearchAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.queue = new IndexedMinHeap(this.grid.size());
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		this.queue.clear();
+		this.destinationX = this.destination / this.columns;
+		this.destinationY = this.destination % this.columns;
+
+		this.state.setDistance(this.source, 0);
+		this.queue.insert(this.source, this.estimate(this.source), 0);
+		this.stats.push(this.queue.size());
+
+		//Loop through the queue removing the jump point with the minimum distance + estimate
+		//and jump from it in the directions that are not pruned until the destination is found
+		while(!this.queue.isEmpty()) {
+			//Stop execution when the token says so, with the best path found so far
+			if(this.isStopped()) {
+				return this.partialPath();
+			}
+			int current = this.queue.poll();
+			this.stats.pop();
+			this.state.setVisited(current);
+
+			//Stop execution as soon as the destination is found
+			if(current == this.destination) {
+				break;
+			}
+			//only jump points are expanded, the cells scanned by the jumps are not counted
+			this.stats.expand();
+
+			int x = current / this.columns;
+			int y = current % this.columns;
+			int parent = this.state.getParent(current);
+			if(parent == -1) {
+				//the source has no direction, jump in all of them
+				this.addSuccessor(current, this.jumpVertical(x, y, -1));
+				this.addSuccessor(current, this.jumpVertical(x, y, 1));
+				this.addSuccessor(current, this.jumpHorizontal(x, y, -1));
+				this.addSuccessor(current, this.jumpHorizontal(x, y, 1));
+			}
+			else if(parent % this.columns == y) {
+				//arrived vertically, keep going and try both horizontal directions
+				int dx = x > parent / this.columns ? 1 : -1;
+				this.addSuccessor(current, this.jumpVertical(x, y, dx));
+				this.addSuccessor(current, this.jumpHorizontal(x, y, -1));
+				this.addSuccessor(current, this.jumpHorizontal(x, y, 1));
+			}
+			else {
+				//arrived horizontally, keep going and turn only where a wall behind forces it
+				int dy = y > parent % this.columns ? 1 : -1;
+				this.addSuccessor(current, this.jumpHorizontal(x, y, dy));
+				if(this.isFree(x - 1, y) && !this.isFree(x - 1, y - dy)) {
+					this.addSuccessor(current, this.jumpVertical(x, y, -1));
+				}
+				if(this.isFree(x + 1, y) && !this.isFree(x + 1, y - dy)) {
+					this.addSuccessor(current, this.jumpVertical(x, y, 1));
+				}
+			}
+		}
+
+		//return the path
+		return this.tracePath();
+	}
+
+	/**
+	 * Generates the path by filling in the nodes between consecutive jump points
+	 * starting from a jump point to the source
+	 * @param end: index of the jump point the path ends at
+	 * @return an array list of nodes from end to the source (excluded),
+	 * empty if end was not reached
+	 */
+	@Override
+	protected ArrayList<Node> tracePath(int end) {
+		ArrayList<Node> path = new ArrayList<Node>();
+		if(end != this.source && this.state.getParent(end) == -1) {
+			return path;
+		}
+		int current = end;
+		while(current != this.source) {
+			int parent = this.state.getParent(current);
+			//jump points are always on the same row or column as their parent
+			int step = parent / this.columns == current / this.columns
+					? (current > parent ? 1 : -1)
+					: (current > parent ? this.columns : -this.columns);
+			for(int i = current; i != parent; i -= step) {
+				path.add(new Node(i / this.columns, i % this.columns));
+			}
+			current = parent;
+		}
+		return path;
+	}
+
+	//Adds or updates a jump point found from the current node
+	private void addSuccessor(int current, int jumpPoint) {
+		if(jumpPoint == -1 || this.state.isVisited(jumpPoint)) {
+			return;
+		}
+		int distanceX = Math.abs(jumpPoint / this.columns - current / this.columns);
+		int distanceY = Math.abs(jumpPoint % this.columns - current % this.columns);
+		double newDistance = this.state.getDistance(current) + distanceX + distanceY;
+		if(newDistance < this.state.getDistance(jumpPoint)) {
+			this.stats.relax();
+			double priority = newDistance + this.estimate(jumpPoint);
+			if(this.queue.contains(jumpPoint)) {
+				this.queue.decreaseKey(jumpPoint, priority, -newDistance);
+			}
+			else {
+				this.queue.insert(jumpPoint, priority, -newDistance);
+				this.stats.push(this.queue.size());
+			}
+			this.state.setDistance(jumpPoint, newDistance);
+			this.state.setParent(jumpPoint, current);
+
+			//Invoke all the registered listeners
+			this.notifyVisited(jumpPoint);
+		}
+	}
+
+	/**
+	 * Moves along the row from (x, y) in direction dy until a jump point is found
+	 * @return index of the jump point, -1 if a wall or the border is reached first
+	 */
+	private int jumpHorizontal(int x, int y, int dy) {
+		while(true) {
+			y += dy;
+			if(!this.isFree(x, y)) {
+				//the cells scanned are not written, keep the end of the scan in the explored bounds
+				this.state.include(x * this.columns + y - dy);
+				return -1;
+			}
+			int index = x * this.columns + y;
+			if(index == this.destination) {
+				return index;
+			}
+			//a free node above or below with a wall behind it can only be reached through this node
+			if((this.isFree(x - 1, y) && !this.isFree(x - 1, y - dy))
+					|| (this.isFree(x + 1, y) && !this.isFree(x + 1, y - dy))) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Moves along the column from (x, y) in direction dx until a jump point is found
+	 * @return index of the jump point, -1 if a wall or the border is reached first
+	 */
+	private int jumpVertical(int x, int y, int dx) {
+		while(true) {
+			x += dx;
+			if(!this.isFree(x, y)) {
+				//the cells scanned are not written, keep the end of the scan in the explored bounds
+				this.state.include((x - dx) * this.columns + y);
+				return -1;
+			}
+			int index = x * this.columns + y;
+			if(index == this.destination) {
+				return index;
+			}
+			//the node is a jump point if the search would turn here
+			if(this.jumpHorizontal(x, y, -1) != -1 || this.jumpHorizontal(x, y, 1) != -1) {
+				return index;
+			}
+		}
+	}
+
+	//Returns true if (x, y) is inside the grid and not a wall
+	private boolean isFree(int x, int y) {
+		return x >= 0 && x < this.rows && y >= 0 && y < this.columns && !this.grid.isWall(x * this.columns + y);
+	}
+
+	//Returns the Manhattan distance from the node at index to the destination
+	private double estimate(int index) {
+		return Math.abs(index / this.columns - this.destinationX) + Math.abs(index % this.columns - this.destinationY);
+	}
+
+}
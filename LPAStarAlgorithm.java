@@ -0,0 +1,218 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Graph implementation for Lifelong Planning A* (LPA*).
+ * The distances of the previous search are kept between runs. After walls or costs change,
+ * only the nodes whose distance is affected are searched again, the path is the same
+ * as the one a search from scratch finds.
+ *
+ * Every node has its distance g and a one step lookahead rhs, the smallest distance of
+ * a neighbour plus the cost of the node. Nodes where both differ are in the queue,
+ * ordered by [min(g, rhs) + estimate, min(g, rhs)].
+ * Like A*, the Manhattan estimate assumes no cost is less than 1.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class LPAStarAlgorithm extends Graph implements GridChangeListener {
+
+	private double[] g;
+	private double[] rhs;
+	//priority queue of the nodes whose g and rhs differ, kept between runs
+	private IndexedMinHeap queue;
+	//source, destination and grid version the distances are computed for, plannedSource is -1 when there are none
+	private int plannedSource;
+	private int plannedDestination;
+	private long plannedVersion;
+	private int destinationX;
+	private int destinationY;
+
+	public LPAStarAlgorithm(ReadOnlyGrid grid) {
+		super(grid);
+		this.g = new double[this.grid.size()];
+		this.rhs = new double[this.grid.size()];
+		this.queue = new IndexedMinHeap(this.grid.size());
+		this.plannedSource = -1;
+		//learn which cells change between runs
+		this.grid.addGridChangeListener(this);
+	}
+
+	@Override
+	//the distances are planned again on the new grid
+	public void setGrid(ReadOnlyGrid grid) {
+		if(grid == this.grid) {
+			return;
+		}
+		this.grid.removeGridChangeListener(this);
+		super.setGrid(grid);
+		this.grid.addGridChangeListener(this);
+		this.plannedSource = -1;
+	}
+
+	@Override
+	//Computes and returns a path between the source and destination node
+	public ArrayList<Node> findPath() {
+		//the previous distances can only be repaired for the same source and destination
+		if(this.source != this.plannedSource || this.destination != this.plannedDestination
+				|| this.grid.getVersion() != this.plannedVersion) {
+			this.initialise();
+		}
+
+		//Loop through the queue removing the node with the minimum key and making it consistent
+		//until the destination is consistent and no node in the queue can lower its distance
+		while(!this.queue.isEmpty() && (this.beforeDestination() || this.g[this.destination] != this.rhs[this.destination])) {
+			//Stop execution when the token says so, the queue is kept for the next run
+			if(this.isStopped()) {
+				return this.partialPath();
+			}
+			int current = this.queue.poll();
+			this.stats.pop();
+			this.stats.expand();
+			this.state.setVisited(current);
+			//Invoke all the registered listeners
+			this.notifyVisited(current);
+
+			if(this.g[current] > this.rhs[current]) {
+				//the distance went down, the neighbours may go down as well
+				this.g[current] = this.rhs[current];
+			}
+			else {
+				//the distance went up, the node and its neighbours are evaluated again
+				this.g[current] = Double.POSITIVE_INFINITY;
+				this.updateNode(current);
+			}
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour != -1) {
+					this.updateNode(neighbour);
+				}
+			}
+		}
+
+		//return the path
+		return this.tracePath();
+	}
+
+	@Override
+	/**
+	 * Implements GridChangeListener's method cellChanged.
+	 * The cost of entering the cell changed, a wall costs infinity,
+	 * so only the lookahead of the cell itself changes.
+	 */
+	public void cellChanged(int index) {
+		if(this.plannedSource == -1) {
+			return;
+		}
+		//the grid also changed in a way that was not reported, start from scratch next time
+		if(this.grid.getVersion() != this.plannedVersion + 1) {
+			this.plannedSource = -1;
+			return;
+		}
+		this.plannedVersion = this.grid.getVersion();
+		this.updateNode(index);
+	}
+
+	@Override
+	/**
+	 * Implements GridChangeListener's method gridChanged.
+	 * The next run starts from scratch.
+	 */
+	public void gridChanged() {
+		this.plannedSource = -1;
+	}
+
+	@Override
+	//the path depends on distances computed by earlier runs, anywhere in the grid
+	public int[] getExploredBounds() {
+		return new int[] {0, 0, this.rows - 1, this.columns - 1};
+	}
+
+	/**
+	 * Generates the path by moving from a node to its neighbour with the smallest distance until the source
+	 * @param end: index of the node the path ends at
+	 * @return an array list of nodes from end to the source (excluded), empty if end was not reached
+	 */
+	@Override
+	protected ArrayList<Node> tracePath(int end) {
+		ArrayList<Node> path = new ArrayList<Node>();
+		int current = end;
+		while(current != this.source) {
+			path.add(new Node(current / this.columns, current % this.columns));
+			int next = -1;
+			for(DIR direction : DIRECTIONS) {
+				int neighbour = this.getNeighbour(current, direction);
+				if(neighbour != -1 && !this.grid.isWall(neighbour)
+						&& (next == -1 || this.g[neighbour] < this.g[next])) {
+					next = neighbour;
+				}
+			}
+			//the node is not reached, or a stopped search left the distances inconsistent
+			if(next == -1 || this.g[next] == Double.POSITIVE_INFINITY || path.size() > this.grid.size()) {
+				path.clear();
+				break;
+			}
+			current = next;
+		}
+		return path;
+	}
+
+	//Forgets the distances and starts a search from the source
+	private void initialise() {
+		Arrays.fill(this.g, Double.POSITIVE_INFINITY);
+		Arrays.fill(this.rhs, Double.POSITIVE_INFINITY);
+		this.queue.clear();
+		this.plannedSource = this.source;
+		this.plannedDestination = this.destination;
+		this.plannedVersion = this.grid.getVersion();
+		this.destinationX = this.destination / this.columns;
+		this.destinationY = this.destination % this.columns;
+		this.rhs[this.source] = 0;
+		this.queue.insert(this.source, this.estimate(this.source), 0);
+		this.stats.push(this.queue.size());
+	}
+
+	//Computes the lookahead of a node again and puts it in the queue if it differs from its distance
+	private void updateNode(int index) {
+		if(index != this.plannedSource) {
+			double lookahead = Double.POSITIVE_INFINITY;
+			if(!this.grid.isWall(index)) {
+				for(DIR direction : DIRECTIONS) {
+					int neighbour = this.getNeighbour(index, direction);
+					if(neighbour != -1 && this.g[neighbour] < lookahead) {
+						lookahead = this.g[neighbour];
+					}
+				}
+				lookahead += this.grid.cost(index);
+			}
+			this.rhs[index] = lookahead;
+		}
+		if(this.g[index] != this.rhs[index]) {
+			double distance = Math.min(this.g[index], this.rhs[index]);
+			//the lookahead of the node changed
+			this.stats.relax();
+			if(this.queue.contains(index)) {
+				this.queue.update(index, distance + this.estimate(index), distance);
+			}
+			else {
+				this.queue.insert(index, distance + this.estimate(index), distance);
+				this.stats.push(this.queue.size());
+			}
+		}
+		else if(this.queue.contains(index)) {
+			this.queue.remove(index);
+		}
+	}
+
+	//Returns true if the minimum key of the queue is less than the key of the destination
+	private boolean beforeDestination() {
+		double distance = Math.min(this.g[this.destination], this.rhs[this.destination]);
+		double key = distance + this.estimate(this.destination);
+		return this.queue.peekKey() < key || (this.queue.peekKey() == key && this.queue.peekTie() < distance);
+	}
+
+	//Returns the Manhattan distance from the node at index to the destination
+	private double estimate(int index) {
+		return Math.abs(index / this.columns - this.destinationX) + Math.abs(index % this.columns - this.destinationY);
+	}
+}
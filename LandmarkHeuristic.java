@@ -0,0 +1,132 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * A heuristic based on landmarks (ALT: A*, landmarks and the triangle inequality).
+ * A few free cells are picked as landmarks, each one as far as possible from the ones picked before,
+ * and the cost of the shortest path from every cell to every landmark is computed once.
+ * For a landmark L, the triangle inequality bounds the cost from u to t from below by
+ * d(u, L) - d(t, L), and by d(L, t) - d(L, u). The estimate is the largest bound over all landmarks,
+ * or the Manhattan distance when that is larger, so it stays close to the real cost on weighted grids
+ * where the Manhattan distance alone is far too low.
+ *
+ * Moving into a cell costs the cell's cost, so d(L, x) = d(x, L) + cost(x) - cost(L)
+ * and one search per landmark gives both directions.
+ * The tables are only valid for the grid version they were computed on.
+ */
+import java.util.Arrays;
+
+public class LandmarkHeuristic implements Heuristic {
+	private ReadOnlyGrid grid;
+	//version of the grid the tables were computed on
+	private long version;
+	private int[] landmarks;
+	//cost of the shortest path from each cell to each landmark, the values of a cell are next to each other
+	//at index * landmarks.length + i, so one estimate reads two short runs of memory
+	private float[] distance;
+
+	/**
+	 * argumented constructor, picks the landmarks and runs one search from each
+	 * @param grid: the grid to search
+	 * @param count: largest number of landmarks
+	 */
+	public LandmarkHeuristic(ReadOnlyGrid grid, int count) {
+		this.grid = grid;
+		this.version = grid.getVersion();
+		int size = grid.size();
+		int[] picked = new int[count];
+		DistanceField[] fields = new DistanceField[count];
+		//cost from each cell to the closest landmark picked so far
+		float[] closest = new float[size];
+		Arrays.fill(closest, Float.POSITIVE_INFINITY);
+
+		//the first landmark is the cell farthest from the first free cell
+		int start = 0;
+		while(start < size && grid.isWall(start)) {
+			start++;
+		}
+		int found = 0;
+		if(start < size) {
+			int next = this.farthest(new DistanceField(grid, start), closest);
+			while(found < count && next != -1) {
+				picked[found] = next;
+				fields[found] = new DistanceField(grid, next);
+				for(int i = 0; i < size; i++) {
+					closest[i] = Math.min(closest[i], fields[found].getDistance(i));
+				}
+				found++;
+				next = this.farthest(null, closest);
+			}
+		}
+
+		this.landmarks = Arrays.copyOf(picked, found);
+		this.distance = new float[size * found];
+		for(int l = 0; l < found; l++) {
+			for(int i = 0; i < size; i++) {
+				this.distance[i * found + l] = fields[l].getDistance(i);
+			}
+		}
+	}
+
+	@Override
+	public double estimate(int x, int y, int destinationX, int destinationY) {
+		double best = Math.abs(x - destinationX) + Math.abs(y - destinationY);
+		int count = this.landmarks.length;
+		int u = this.grid.index(x, y) * count;
+		int t = this.grid.index(destinationX, destinationY) * count;
+		double difference = this.grid.cost(this.grid.index(destinationX, destinationY)) - this.grid.cost(this.grid.index(x, y));
+		for(int l = 0; l < count; l++) {
+			float fromU = this.distance[u + l];
+			float fromT = this.distance[t + l];
+			//a landmark that can not reach both cells bounds nothing
+			if(fromU == Float.POSITIVE_INFINITY || fromT == Float.POSITIVE_INFINITY) {
+				continue;
+			}
+			//the floats may be rounded by half a unit in the last place, the bound is lowered by as much
+			double bound = Math.max((double)fromU - fromT, (double)fromT - fromU + difference)
+					- Math.ulp(fromU) - Math.ulp(fromT);
+			if(bound > best) {
+				best = bound;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns true if the grid did not change since the tables were computed
+	 * @return true if the estimates are still lower bounds
+	 */
+	public boolean isCurrent() {
+		return this.grid.getVersion() == this.version;
+	}
+
+	/**
+	 * Returns the cells picked as landmarks
+	 * @return indices of the landmarks
+	 */
+	public int[] getLandmarks() {
+		return this.landmarks.clone();
+	}
+
+	//Returns the free cell farthest from the landmarks, cells in a region without landmark first,
+	//-1 if every free cell is a landmark. With a field, the distances of the field are used instead.
+	private int farthest(DistanceField field, float[] closest) {
+		int best = -1;
+		float bestDistance = 0;
+		for(int i = 0; i < closest.length; i++) {
+			if(this.grid.isWall(i)) {
+				continue;
+			}
+			float distance = field != null ? field.getDistance(i) : closest[i];
+			//with a field, only the cells it reaches count
+			if(field != null && distance == Float.POSITIVE_INFINITY) {
+				continue;
+			}
+			if(distance > bestDistance || (best == -1 && field != null)) {
+				best = i;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+}
@@ -1,21 +1,15 @@
 package pathfindingVisualizer;
 /**
  * @author Aayushi Pandey
- * This class defines a node
+ * This class defines a node of a computed path
  */
 public class Node {
 	int x;
     int y;
-	boolean isWall;
-	Node previous;
-	double weight;
-	boolean isVisited;
-	boolean isWeightNode;
-	
-	
+
+
 	public Node(int x, int y) {
 		this.x = x;
 		this.y = y;
-		this.weight = Double.POSITIVE_INFINITY;
 	}
 }
@@ -0,0 +1,207 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class keeps the results of recent searches, so a repeated query is answered without searching.
+ * Entries are found by algorithm, source and destination and the least recently used one
+ * is dropped once the cache is full.
+ *
+ * An entry stays valid while the grid does not change around the cells its search explored.
+ * Edits reported through cellChanged only drop the entries whose explored bounding box,
+ * grown by one cell for the neighbours, contains the edited cell.
+ * Any other change of the grid version (clear, load, unreported edits) drops every entry.
+ */
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PathCache {
+
+	/**
+	 * A class to define a cached search result
+	 */
+	public static class Entry {
+		//path from the destination to the source (excluded), as returned by findPath
+		public final ArrayList<Node> path;
+		//visits and path of the search to replay, null if they were not recorded
+		public final SearchTrace trace;
+		//counters of the search, shown again when the entry is replayed
+		public final SearchStats stats;
+		//bounding box of the explored cells
+		private final int minRow, minColumn, maxRow, maxColumn;
+
+		/**
+		 * argumented constructor
+		 * @param path: path returned by findPath
+		 * @param trace: recorded search, may be null
+		 * @param stats: counters of the search
+		 * @param bounds: explored bounding box, as returned by getExploredBounds
+		 */
+		private Entry(ArrayList<Node> path, SearchTrace trace, SearchStats stats, int[] bounds) {
+			this.path = path;
+			this.trace = trace;
+			this.stats = stats;
+			this.minRow = bounds[0];
+			this.minColumn = bounds[1];
+			this.maxRow = bounds[2];
+			this.maxColumn = bounds[3];
+		}
+
+		//Returns true if the search may have depended on the cell
+		private boolean depends(int row, int column) {
+			return row >= this.minRow - 1 && row <= this.maxRow + 1
+					&& column >= this.minColumn - 1 && column <= this.maxColumn + 1;
+		}
+	}
+
+	/**
+	 * A class to define the key of a cached search
+	 */
+	private static class Key {
+		private final ALGORITHMS algorithm;
+		private final int source;
+		private final int destination;
+
+		private Key(ALGORITHMS algorithm, int source, int destination) {
+			this.algorithm = algorithm;
+			this.source = source;
+			this.destination = destination;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key)other;
+			return this.algorithm == key.algorithm && this.source == key.source && this.destination == key.destination;
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.algorithm.ordinal() * 31 + this.source) * 31 + this.destination;
+		}
+	}
+
+	private ReadOnlyGrid grid;
+	private LinkedHashMap<Key, Entry> entries;
+	//version of the grid the entries were checked against
+	private long version;
+	private long hits;
+	private long misses;
+
+	/**
+	 * argumented constructor
+	 * @param grid: the grid searched
+	 * @param capacity: largest number of entries
+	 */
+	public PathCache(ReadOnlyGrid grid, final int capacity) {
+		this.grid = grid;
+		this.version = grid.getVersion();
+		//in access order, the first entry is the least recently used one
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return this.size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached result of a search
+	 * @param algorithm: algorithm of the search
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @return the entry, null if the search is not cached
+	 */
+	public synchronized Entry get(ALGORITHMS algorithm, int source, int destination) {
+		this.checkVersion();
+		Entry entry = this.entries.get(new Key(algorithm, source, destination));
+		if(entry == null) {
+			this.misses++;
+		}
+		else {
+			this.hits++;
+		}
+		return entry;
+	}
+
+	/**
+	 * Caches the result of a search that was just run, searches stopped by their token are not cached
+	 * @param algorithm: algorithm of the search
+	 * @param graph: the algorithm's object, it gives the explored bounding box
+	 * @param path: path returned by findPath
+	 * @param trace: recorded search, may be null
+	 */
+	public synchronized void put(ALGORITHMS algorithm, Graph graph, ArrayList<Node> path, SearchTrace trace) {
+		this.checkVersion();
+		if(graph.wasStopped()) {
+			return;
+		}
+		this.entries.put(new Key(algorithm, graph.source, graph.destination),
+				new Entry(path, trace, new SearchStats(graph.getStats()), graph.getExploredBounds()));
+	}
+
+	/**
+	 * Drops the entries whose search may have depended on a cell, to be called right after the cell is edited
+	 * @param index: index of the edited cell
+	 */
+	public synchronized void cellChanged(int index) {
+		//an edit that was not reported happened before this one
+		if(this.grid.getVersion() != this.version + 1) {
+			this.entries.clear();
+		}
+		this.version = this.grid.getVersion();
+		int row = index / this.grid.getColumns();
+		int column = index % this.grid.getColumns();
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while(iterator.hasNext()) {
+			if(iterator.next().depends(row, column)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drops every entry
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.version = this.grid.getVersion();
+	}
+
+	/**
+	 * Returns the number of queries answered from the cache
+	 * @return number of hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of queries not found in the cache
+	 * @return number of misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Returns the number of cached searches
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	//Drops every entry if the grid changed without being reported
+	private void checkVersion() {
+		if(this.grid.getVersion() != this.version) {
+			this.entries.clear();
+			this.version = this.grid.getVersion();
+		}
+	}
+}
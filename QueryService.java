@@ -0,0 +1,170 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class answers path queries from many threads at once.
+ * Queries search the current GridSnapshot, edits publish a new snapshot atomically,
+ * queries already running finish on the snapshot they started with.
+ *
+ * An algorithm object keeps its search state between runs, so it can only run one search at a time.
+ * Every thread therefore keeps its own algorithm objects, created the first time the thread runs
+ * an algorithm and moved to each newer snapshot with Graph.setGrid, keeping their grid sized arrays.
+ * Algorithms that preprocess the grid only do it again for the parts of the grid that changed:
+ * HPA* builds the clusters around the edited cells again, ALT computes its tables again after any edit.
+ *
+ * Queries run on a fixed pool of threads with submit, or on the calling thread with query.
+ * Any ExecutorService may be given instead of the pool, with one new thread per task
+ * the algorithm objects are created again for every query.
+ */
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class QueryService {
+
+	/**
+	 * A class to define the answer to a query
+	 */
+	public static class Result {
+		//path from the destination to the source (excluded), as returned by findPath
+		public final ArrayList<Node> path;
+		//version of the snapshot the query searched
+		public final long version;
+		//true if the token stopped the search, the path does not reach the destination then
+		public final boolean stopped;
+
+		private Result(ArrayList<Node> path, long version, boolean stopped) {
+			this.path = path;
+			this.version = version;
+			this.stopped = stopped;
+		}
+	}
+
+	/**
+	 * A class to define the algorithm objects of one thread
+	 */
+	private static class Scratch {
+		private EnumMap<ALGORITHMS, Graph> graphs = new EnumMap<ALGORITHMS, Graph>(ALGORITHMS.class);
+
+		//Returns the thread's object of the algorithm moved to the snapshot, creating it if needed
+		private Graph graph(ALGORITHMS algorithm, GridSnapshot snapshot) {
+			Graph graph = this.graphs.get(algorithm);
+			if(graph != null && graph.getGrid() != snapshot) {
+				//the arrays are kept for a grid of the same size
+				if(graph.getGrid().getRows() == snapshot.getRows() && graph.getGrid().getColumns() == snapshot.getColumns()) {
+					graph.setGrid(snapshot);
+				}
+				else {
+					graph = null;
+				}
+			}
+			if(graph == null) {
+				//the queries already run in parallel, one thread per delta-stepping search is enough
+				graph = algorithm == ALGORITHMS.DELTA_STEPPING ? new DeltaSteppingAlgorithm(snapshot, 1) : algorithm.create(snapshot);
+				this.graphs.put(algorithm, graph);
+			}
+			return graph;
+		}
+	}
+
+	private final AtomicReference<GridSnapshot> snapshot;
+	private final ExecutorService executor;
+	private final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+		@Override
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+
+	/**
+	 * argumented constructor, queries run on a fixed pool of daemon threads
+	 * @param grid: the grid to search, its current version is published
+	 * @param threads: number of threads of the pool
+	 */
+	public QueryService(GridModel grid, int threads) {
+		this(grid, Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "path-query");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}));
+	}
+
+	/**
+	 * argumented constructor
+	 * @param grid: the grid to search, its current version is published
+	 * @param executor: runs the submitted queries, shut down by shutdown
+	 */
+	public QueryService(GridModel grid, ExecutorService executor) {
+		this.snapshot = new AtomicReference<GridSnapshot>(grid.snapshot());
+		this.executor = executor;
+	}
+
+	/**
+	 * Publishes a snapshot of the grid, queries starting from now search it.
+	 * The snapshot only copies the parts of the grid edited since the last one, the grid must not be
+	 * edited while it is taken.
+	 * @param grid: the edited grid
+	 */
+	public void publish(GridModel grid) {
+		this.snapshot.set(grid.snapshot());
+	}
+
+	/**
+	 * Returns the snapshot new queries search
+	 * @return the current snapshot
+	 */
+	public GridSnapshot getSnapshot() {
+		return this.snapshot.get();
+	}
+
+	/**
+	 * Runs a query on the calling thread
+	 * @param algorithm: the algorithm searching
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param token: token stopping the search, null to run it to the end
+	 * @return the path and the version of the snapshot searched
+	 */
+	public Result query(ALGORITHMS algorithm, int source, int destination, SearchToken token) {
+		GridSnapshot current = this.snapshot.get();
+		Graph graph = this.scratch.get().graph(algorithm, current);
+		graph.reset();
+		int columns = current.getColumns();
+		graph.setSource(source / columns, source % columns);
+		graph.setDestination(destination / columns, destination % columns);
+		ArrayList<Node> path = graph.findPath(token);
+		return new Result(path, current.getVersion(), graph.wasStopped());
+	}
+
+	/**
+	 * Runs a query on the executor
+	 * @param algorithm: the algorithm searching
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param token: token stopping the search, null to run it to the end
+	 * @return the future result of the query
+	 */
+	public Future<Result> submit(final ALGORITHMS algorithm, final int source, final int destination, final SearchToken token) {
+		return this.executor.submit(new Callable<Result>() {
+			@Override
+			public Result call() {
+				return QueryService.this.query(algorithm, source, destination, token);
+			}
+		});
+	}
+
+	/**
+	 * Stops the executor once the submitted queries are done
+	 */
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+}
@@ -0,0 +1,209 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * A window comparing the algorithms of a race.
+ * Every algorithm gets a pane in a row of split panes where its search is replayed,
+ * all panes replay the same number of visits per frame, so the algorithm visiting
+ * the fewest nodes finishes first. A table below compares time, expansions and path cost.
+ */
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+public class RaceView extends JDialog implements ActionListener {
+	private static final long serialVersionUID = 1L;
+	//delay between two frames of the replay
+	private static final int FRAME_DELAY = 16;
+	//the longest search is replayed within this time
+	private static final int REPLAY_MILLIS = 3000;
+	private static final String[] COLUMNS = {"Algorithm", "Time (ms)", "Expanded", "Relaxed",
+			"Peak frontier", "Path length", "Path cost", "Allocated (KB)", "Stopped"};
+
+	private RacePane[] panes;
+	private Timer timer;
+	private int stepsPerFrame;
+
+	/**
+	 * argumented constructor, shows the window and starts the replay
+	 * @param owner: the main window
+	 * @param grid: the grid the race searched
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param results: the outcome of every algorithm
+	 */
+	public RaceView(JFrame owner, ReadOnlyGrid grid, int source, int destination, List<AlgorithmRace.Result> results) {
+		super(owner, "Race", false);
+		setLayout(new BorderLayout());
+
+		//one pane per algorithm, nested split panes share the width equally
+		this.panes = new RacePane[results.size()];
+		int longest = 0;
+		for(int i = 0; i < results.size(); i++) {
+			this.panes[i] = new RacePane(grid, source, destination, results.get(i));
+			longest = Math.max(longest, results.get(i).trace.visitCount() + results.get(i).trace.pathLength());
+		}
+		JComponent row = this.panes[this.panes.length - 1];
+		for(int i = this.panes.length - 2; i >= 0; i--) {
+			JSplitPane split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, true, this.panes[i], row);
+			split.setResizeWeight(1.0 / (this.panes.length - i));
+			row = split;
+		}
+		add(row, BorderLayout.CENTER);
+
+		//the comparison table, its columns can be sorted
+		DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Class<?> getColumnClass(int column) {
+				return column == 0 ? String.class : column == COLUMNS.length - 1 ? Boolean.class
+						: column == 1 || column == 6 ? Double.class : Long.class;
+			}
+
+			@Override
+			public boolean isCellEditable(int row, int column) {
+				return false;
+			}
+		};
+		for(AlgorithmRace.Result result : results) {
+			SearchStats stats = result.stats;
+			model.addRow(new Object[] {result.algorithm.name(), stats.getWallTimeNanos() / 1e6, stats.getNodesExpanded(),
+					stats.getEdgesRelaxed(), stats.getPeakFrontier(), stats.getPathLength(), stats.getPathCost(),
+					stats.getAllocatedBytes() < 0 ? -1 : stats.getAllocatedBytes() / 1024, result.stopped});
+		}
+		JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		JScrollPane tablePane = new JScrollPane(table);
+		tablePane.setPreferredSize(new Dimension(0, table.getRowHeight() * (results.size() + 2)));
+		add(tablePane, BorderLayout.SOUTH);
+
+		this.stepsPerFrame = Math.max(1, (int)Math.ceil(longest / (double)(REPLAY_MILLIS / FRAME_DELAY)));
+		this.timer = new Timer(FRAME_DELAY, this);
+		//stop the replay with the window
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosed(WindowEvent e) {
+				timer.stop();
+			}
+		});
+		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+		setSize(Math.max(400, owner.getWidth() * 9 / 10), Math.max(300, owner.getHeight() * 3 / 4));
+		setLocationRelativeTo(owner);
+		setVisible(true);
+		this.timer.start();
+	}
+
+	@Override
+	/**
+	 * Implements ActionListener's method actionPerformed for the replay timer.
+	 * Advances every pane by the same number of steps, stops once all are done.
+	 */
+	public void actionPerformed(ActionEvent e) {
+		boolean running = false;
+		for(RacePane pane : this.panes) {
+			running |= pane.advance(this.stepsPerFrame);
+		}
+		if(!running) {
+			this.timer.stop();
+		}
+	}
+
+	/**
+	 * A pane replaying the search of one algorithm.
+	 * The grid is drawn one pixel per cell into an image scaled to the pane.
+	 */
+	private static class RacePane extends JPanel {
+		private static final long serialVersionUID = 1L;
+		//the colors of the main window
+		private static final int EMPTY = GraphView.CLASS_COLORS[GraphView.EMPTY_CLASS];
+		private static final int WEIGHT = GraphView.CLASS_COLORS[GraphView.WEIGHT_CLASS];
+		private static final int WALL = GraphView.CLASS_COLORS[GraphView.WALL_CLASS];
+		private static final int VISITED = GraphView.CLASS_COLORS[GraphView.VISITED_CLASS];
+		private static final int BACKWARD = GraphView.CLASS_COLORS[GraphView.BACKWARD_CLASS];
+		private static final int PATH = GraphView.CLASS_COLORS[GraphView.PATH_CLASS];
+		private static final int DESTINATION = GraphView.CLASS_COLORS[GraphView.DESTINATION_CLASS];
+		private static final int SOURCE = GraphView.CLASS_COLORS[GraphView.SOURCE_CLASS];
+
+		private SearchTrace trace;
+		private int source;
+		private int destination;
+		private BufferedImage image;
+		private int[] pixels;
+		//replay steps done, the visits first and then the path
+		private int position;
+
+		private RacePane(ReadOnlyGrid grid, int source, int destination, AlgorithmRace.Result result) {
+			this.trace = result.trace;
+			this.source = source;
+			this.destination = destination;
+			this.image = new BufferedImage(grid.getColumns(), grid.getRows(), BufferedImage.TYPE_INT_RGB);
+			this.pixels = ((DataBufferInt)this.image.getRaster().getDataBuffer()).getData();
+			for(int i = 0; i < this.pixels.length; i++) {
+				this.pixels[i] = grid.isWall(i) ? WALL : grid.isWeightNode(i) ? WEIGHT : EMPTY;
+			}
+			this.pixels[source] = SOURCE;
+			this.pixels[destination] = DESTINATION;
+			setBorder(BorderFactory.createTitledBorder(result.algorithm.name() + (result.stopped ? " (stopped)" : "")));
+			setMinimumSize(new Dimension(50, 50));
+		}
+
+		/**
+		 * Replays the next steps of the search
+		 * @param steps: number of visits or path cells to show
+		 * @return true if the replay is not done yet
+		 */
+		private boolean advance(int steps) {
+			int visits = this.trace.visitCount();
+			int end = Math.min(this.position + steps, visits + this.trace.pathLength());
+			for(; this.position < end; this.position++) {
+				int index = this.position < visits ? this.trace.visitIndex(this.position) : this.trace.pathIndex(this.position - visits);
+				//the source and destination keep their colors
+				if(index == this.source || index == this.destination) {
+					continue;
+				}
+				if(this.position >= visits) {
+					this.pixels[index] = PATH;
+				}
+				else if(this.pixels[index] == EMPTY || this.pixels[index] == WEIGHT) {
+					this.pixels[index] = this.trace.isBackward(this.position) ? BACKWARD : VISITED;
+				}
+			}
+			repaint();
+			return this.position < visits + this.trace.pathLength();
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			super.paintComponent(g);
+			//fit the grid into the pane, keeping the cells square
+			int width = getWidth() - getInsets().left - getInsets().right;
+			int height = getHeight() - getInsets().top - getInsets().bottom;
+			double scale = Math.min(width / (double)this.image.getWidth(), height / (double)this.image.getHeight());
+			Graphics2D g2 = (Graphics2D)g;
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+			g2.drawImage(this.image, getInsets().left, getInsets().top,
+					(int)(this.image.getWidth() * scale), (int)(this.image.getHeight() * scale), null);
+		}
+	}
+}
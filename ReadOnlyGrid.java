@@ -0,0 +1,88 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * The read-only view of a grid the algorithms search.
+ * Every cell is addressed by a single index (row * columns + column).
+ * A GridModel is edited through its own methods and reports the edits to its listeners,
+ * a GridSnapshot never changes, so its listeners are never called.
+ */
+public interface ReadOnlyGrid {
+
+	/**
+	 * Returns the number of rows
+	 * @return number of rows
+	 */
+	public int getRows();
+
+	/**
+	 * Returns the number of columns
+	 * @return number of columns
+	 */
+	public int getColumns();
+
+	/**
+	 * Returns total number of cells
+	 * @return number of cells
+	 */
+	public int size();
+
+	/**
+	 * Returns the index of the cell at x and y
+	 * @param x: row of the cell
+	 * @param y: column of the cell
+	 * @return index of the cell
+	 */
+	public int index(int x, int y);
+
+	/**
+	 * Returns true if the cell at index is a wall
+	 * @param index: index of the cell
+	 * @return true if the cell is a wall
+	 */
+	public boolean isWall(int index);
+
+	/**
+	 * Returns true if the cell at index is a weight node
+	 * @param index: index of the cell
+	 * @return true if the cell is a weight node
+	 */
+	public boolean isWeightNode(int index);
+
+	/**
+	 * Returns the cost of entering the cell at index
+	 * @param index: index of the cell
+	 * @return the cost of the cell
+	 */
+	public double cost(int index);
+
+	/**
+	 * Returns a cost no cell is more expensive than
+	 * @return upper bound of the cell costs
+	 */
+	public double maxCost();
+
+	/**
+	 * Returns the number of edits made to the grid so far
+	 * @return version of the grid
+	 */
+	public long getVersion();
+
+	/**
+	 * Returns an immutable copy of the grid, which threads may search while the grid is edited
+	 * @return snapshot of the current version
+	 */
+	public GridSnapshot snapshot();
+
+	/**
+	 * Adds a listener called after every edit
+	 * @param listener: listener for the grid
+	 */
+	public void addGridChangeListener(GridChangeListener listener);
+
+	/**
+	 * Removes a listener added with addGridChangeListener
+	 * @param listener: listener for the grid
+	 */
+	public void removeGridChangeListener(GridChangeListener listener);
+}
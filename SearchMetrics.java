@@ -0,0 +1,158 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class aggregates the stats of the searches over a rolling window of the last runs.
+ * It is thread safe, so searches running on several threads may record into the same object.
+ * register publishes it as an MXBean, JConsole then shows the last run and the rolling values.
+ */
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class SearchMetrics implements SearchMetricsMXBean {
+	//name the metrics are published under
+	public static final String OBJECT_NAME = "pathfindingVisualizer:type=SearchMetrics";
+
+	//stats of the last runs, a cyclic array
+	private SearchStats[] window;
+	//number of runs recorded, the next one is stored at runs % window.length
+	private long runs;
+	private String lastAlgorithm = "";
+	//number of searches replayed from a cache instead of being run
+	private long cacheHits;
+
+	/**
+	 * argumented constructor
+	 * @param windowSize: number of runs the rolling values are computed over
+	 */
+	public SearchMetrics(int windowSize) {
+		this.window = new SearchStats[windowSize];
+	}
+
+	/**
+	 * Publishes the metrics on the platform MBean server, once per JVM.
+	 * @return true if they were published, false if other metrics already are or JMX failed
+	 */
+	public boolean register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+			return true;
+		}
+		catch(InstanceAlreadyExistsException e) {
+			return false;
+		}
+		catch(JMException e) {
+			System.err.println("could not publish the search metrics: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Records the stats of a search that was just run
+	 * @param algorithm: algorithm of the search
+	 * @param stats: stats of the search, copied
+	 */
+	public synchronized void record(ALGORITHMS algorithm, SearchStats stats) {
+		this.window[(int)(this.runs % this.window.length)] = new SearchStats(stats);
+		this.runs++;
+		this.lastAlgorithm = algorithm.name();
+	}
+
+	/**
+	 * Counts a search answered from a cache, it is not part of the rolling values
+	 */
+	public synchronized void recordCacheHit() {
+		this.cacheHits++;
+	}
+
+	@Override
+	public synchronized long getRuns() {
+		return this.runs;
+	}
+
+	@Override
+	public synchronized long getCacheHits() {
+		return this.cacheHits;
+	}
+
+	@Override
+	public synchronized String getLastAlgorithm() {
+		return this.lastAlgorithm;
+	}
+
+	@Override
+	public synchronized SearchStats getLastRun() {
+		if(this.runs == 0) {
+			return new SearchStats();
+		}
+		return new SearchStats(this.window[(int)((this.runs - 1) % this.window.length)]);
+	}
+
+	@Override
+	public synchronized SearchStats getRollingMean() {
+		SearchStats mean = new SearchStats();
+		int count = this.getWindowSize();
+		if(count == 0) {
+			return mean;
+		}
+		boolean allocations = true;
+		for(int i = 0; i < count; i++) {
+			SearchStats stats = this.window[i];
+			mean.expanded += stats.expanded;
+			mean.relaxed += stats.relaxed;
+			mean.pushes += stats.pushes;
+			mean.pops += stats.pops;
+			mean.peakFrontier += stats.peakFrontier;
+			mean.pathLength += stats.pathLength;
+			mean.pathCost += stats.pathCost;
+			mean.wallNanos += stats.wallNanos;
+			mean.allocatedBytes += stats.allocatedBytes;
+			allocations &= stats.allocatedBytes != -1;
+		}
+		mean.expanded /= count;
+		mean.relaxed /= count;
+		mean.pushes /= count;
+		mean.pops /= count;
+		mean.peakFrontier /= count;
+		mean.pathLength /= count;
+		mean.pathCost /= count;
+		mean.wallNanos /= count;
+		mean.allocatedBytes = allocations ? mean.allocatedBytes / count : -1;
+		return mean;
+	}
+
+	@Override
+	public synchronized SearchStats getRollingMax() {
+		SearchStats max = new SearchStats();
+		int count = this.getWindowSize();
+		for(int i = 0; i < count; i++) {
+			SearchStats stats = this.window[i];
+			max.expanded = Math.max(max.expanded, stats.expanded);
+			max.relaxed = Math.max(max.relaxed, stats.relaxed);
+			max.pushes = Math.max(max.pushes, stats.pushes);
+			max.pops = Math.max(max.pops, stats.pops);
+			max.peakFrontier = Math.max(max.peakFrontier, stats.peakFrontier);
+			max.pathLength = Math.max(max.pathLength, stats.pathLength);
+			max.pathCost = Math.max(max.pathCost, stats.pathCost);
+			max.wallNanos = Math.max(max.wallNanos, stats.wallNanos);
+			max.allocatedBytes = Math.max(max.allocatedBytes, stats.allocatedBytes);
+		}
+		return max;
+	}
+
+	@Override
+	public synchronized int getWindowSize() {
+		return (int)Math.min(this.runs, this.window.length);
+	}
+
+	@Override
+	public synchronized void reset() {
+		this.window = new SearchStats[this.window.length];
+		this.runs = 0;
+		this.lastAlgorithm = "";
+		this.cacheHits = 0;
+	}
+}
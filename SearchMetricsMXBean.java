@@ -0,0 +1,57 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * The management interface of SearchMetrics, published under the name
+ * pathfindingVisualizer:type=SearchMetrics so JConsole or any JMX client can read it.
+ * Stats are shown as composite values with one item per counter.
+ */
+public interface SearchMetricsMXBean {
+
+	/**
+	 * Returns the number of searches recorded
+	 * @return number of searches
+	 */
+	public long getRuns();
+
+	/**
+	 * Returns the number of searches answered from a cache instead of being run
+	 * @return number of cache hits
+	 */
+	public long getCacheHits();
+
+	/**
+	 * Returns the algorithm of the last search
+	 * @return name of the algorithm, empty before the first search
+	 */
+	public String getLastAlgorithm();
+
+	/**
+	 * Returns the counters of the last search
+	 * @return stats of the last search
+	 */
+	public SearchStats getLastRun();
+
+	/**
+	 * Returns the mean of every counter over the last searches
+	 * @return mean stats of the window
+	 */
+	public SearchStats getRollingMean();
+
+	/**
+	 * Returns the largest value of every counter over the last searches
+	 * @return largest stats of the window
+	 */
+	public SearchStats getRollingMax();
+
+	/**
+	 * Returns the number of searches the rolling values are computed over
+	 * @return number of searches in the window
+	 */
+	public int getWindowSize();
+
+	/**
+	 * Forgets all recorded searches
+	 */
+	public void reset();
+}
@@ -0,0 +1,168 @@
+package pathfindingVisualizer;
+
+import java.util.Arrays;
+
+/**
+ * @author Aayushi Pandey
+ * This class defines the scratch state of a search.
+ * Visited flags, distances and parents are kept in flat arrays
+ * indexed the same way as the cells of the GridModel.
+ *
+ * Each cell carries the generation of the search that last wrote it.
+ * Starting a new search only increments the generation, cells written by older
+ * searches read as not visited, at infinite distance and without a parent.
+ *
+ * The state also keeps the bounding box of the cells the current search wrote,
+ * so a result can be kept as long as the grid does not change around it.
+ */
+public class SearchState {
+	private boolean[] visited;
+	private double[] distance;
+	private int[] parent;
+	private int[] stamp;
+	private int generation;
+	private int columns;
+	//bounding box of the cells written by the current search, empty when minRow > maxRow
+	private int minRow, minColumn, maxRow, maxColumn;
+
+	/**
+	 * argumented constructor
+	 * @param size: number of cells
+	 * @param columns: number of columns of the grid, to turn indices into rows and columns
+	 */
+	public SearchState(int size, int columns) {
+		this.visited = new boolean[size];
+		this.distance = new double[size];
+		this.parent = new int[size];
+		this.stamp = new int[size];
+		this.generation = 1;
+		this.columns = columns;
+		this.clearBounds();
+	}
+
+	/**
+	 * Marks every cell as not visited, at infinite distance and without a parent
+	 */
+	public void clear() {
+		this.generation++;
+		//the stamps are only swept once the counter wraps around
+		if(this.generation == Integer.MAX_VALUE) {
+			Arrays.fill(this.stamp, 0);
+			this.generation = 1;
+		}
+		this.clearBounds();
+	}
+
+	/**
+	 * Returns true if the cell was written by the current search
+	 * @param index: index of the cell
+	 * @return true if the cell was reached by the current search
+	 */
+	public boolean isReached(int index) {
+		return this.stamp[index] == this.generation;
+	}
+
+	/**
+	 * Returns true if the cell is visited
+	 * @param index: index of the cell
+	 * @return true if the cell is visited
+	 */
+	public boolean isVisited(int index) {
+		return this.stamp[index] == this.generation && this.visited[index];
+	}
+
+	/**
+	 * Marks the cell as visited
+	 * @param index: index of the cell
+	 */
+	public void setVisited(int index) {
+		this.touch(index);
+		this.visited[index] = true;
+	}
+
+	/**
+	 * Returns the distance of the cell from the start of the search
+	 * @param index: index of the cell
+	 * @return the distance, infinite if the cell is not reached
+	 */
+	public double getDistance(int index) {
+		return this.stamp[index] == this.generation ? this.distance[index] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Sets the distance of the cell from the start of the search
+	 * @param index: index of the cell
+	 * @param distance: the distance
+	 */
+	public void setDistance(int index, double distance) {
+		this.touch(index);
+		this.distance[index] = distance;
+	}
+
+	/**
+	 * Returns the parent of the cell
+	 * @param index: index of the cell
+	 * @return index of the parent, -1 if the cell has no parent
+	 */
+	public int getParent(int index) {
+		return this.stamp[index] == this.generation ? this.parent[index] : -1;
+	}
+
+	/**
+	 * Sets the parent of the cell
+	 * @param index: index of the cell
+	 * @param parent: index of the parent
+	 */
+	public void setParent(int index, int parent) {
+		this.touch(index);
+		this.parent[index] = parent;
+	}
+
+	/**
+	 * Extends the bounding box to a cell the search read without writing it
+	 * @param index: index of the cell
+	 */
+	public void include(int index) {
+		int row = index / this.columns;
+		int column = index - row * this.columns;
+		if(row < this.minRow) {
+			this.minRow = row;
+		}
+		if(row > this.maxRow) {
+			this.maxRow = row;
+		}
+		if(column < this.minColumn) {
+			this.minColumn = column;
+		}
+		if(column > this.maxColumn) {
+			this.maxColumn = column;
+		}
+	}
+
+	/**
+	 * Returns the bounding box of the cells written or included by the current search
+	 * @return {minRow, minColumn, maxRow, maxColumn}, minRow > maxRow if there is none
+	 */
+	public int[] getBounds() {
+		return new int[] {this.minRow, this.minColumn, this.maxRow, this.maxColumn};
+	}
+
+	//Empties the bounding box
+	private void clearBounds() {
+		this.minRow = Integer.MAX_VALUE;
+		this.minColumn = Integer.MAX_VALUE;
+		this.maxRow = Integer.MIN_VALUE;
+		this.maxColumn = Integer.MIN_VALUE;
+	}
+
+	//Initializes the cell the first time the current search writes it
+	private void touch(int index) {
+		if(this.stamp[index] != this.generation) {
+			this.stamp[index] = this.generation;
+			this.visited[index] = false;
+			this.distance[index] = Double.POSITIVE_INFINITY;
+			this.parent[index] = -1;
+			this.include(index);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class holds the counters of one search: nodes expanded, edges relaxed, queue pushes and pops,
+ * the largest frontier, the length and cost of the path, the wall time and the bytes allocated.
+ * The algorithms update the counters while they search, findPath(SearchToken) measures the time,
+ * the allocations of the calling thread and the path.
+ * A node is expanded when its neighbours are evaluated, an edge is relaxed when it lowers
+ * the distance of a node or reaches it for the first time.
+ */
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+public class SearchStats {
+	//thread bean of the JVM, it counts the allocated bytes on HotSpot only
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+	long expanded;
+	long relaxed;
+	long pushes;
+	long pops;
+	long peakFrontier;
+	long pathLength;
+	double pathCost;
+	long wallNanos;
+	//-1 when the JVM does not count the allocated bytes
+	long allocatedBytes;
+	//values when the search started
+	private long startNanos;
+	private long startBytes;
+
+	/**
+	 * Unargumented constructor, all counters are 0
+	 */
+	public SearchStats() {
+	}
+
+	/**
+	 * argumented constructor, copies the counters of other stats
+	 * @param stats: the stats to copy
+	 */
+	public SearchStats(SearchStats stats) {
+		this.expanded = stats.expanded;
+		this.relaxed = stats.relaxed;
+		this.pushes = stats.pushes;
+		this.pops = stats.pops;
+		this.peakFrontier = stats.peakFrontier;
+		this.pathLength = stats.pathLength;
+		this.pathCost = stats.pathCost;
+		this.wallNanos = stats.wallNanos;
+		this.allocatedBytes = stats.allocatedBytes;
+	}
+
+	//Counts a node whose neighbours are evaluated
+	void expand() {
+		this.expanded++;
+	}
+
+	//Counts nodes whose neighbours are evaluated at once
+	void expand(int count) {
+		this.expanded += count;
+	}
+
+	//Counts an edge that lowered the distance of a node or reached it
+	void relax() {
+		this.relaxed++;
+	}
+
+	//Counts edges that lowered the distances of nodes at once
+	void relax(int count) {
+		this.relaxed += count;
+	}
+
+	/**
+	 * Counts a node added to the frontier
+	 * @param frontier: size of the frontier after the node was added
+	 */
+	void push(long frontier) {
+		this.pushes++;
+		if(frontier > this.peakFrontier) {
+			this.peakFrontier = frontier;
+		}
+	}
+
+	/**
+	 * Counts nodes added to the frontier at once
+	 * @param count: number of nodes added
+	 * @param frontier: size of the frontier after they were added
+	 */
+	void push(int count, long frontier) {
+		this.pushes += count;
+		if(frontier > this.peakFrontier) {
+			this.peakFrontier = frontier;
+		}
+	}
+
+	//Counts a node removed from the frontier
+	void pop() {
+		this.pops++;
+	}
+
+	//Counts nodes removed from the frontier at once
+	void pop(int count) {
+		this.pops += count;
+	}
+
+	//Sets all counters to 0
+	void clear() {
+		this.expanded = 0;
+		this.relaxed = 0;
+		this.pushes = 0;
+		this.pops = 0;
+		this.peakFrontier = 0;
+		this.pathLength = 0;
+		this.pathCost = 0;
+		this.wallNanos = 0;
+		this.allocatedBytes = 0;
+	}
+
+	//Clears the counters and starts the clocks of a search on the calling thread
+	void begin() {
+		this.clear();
+		this.startBytes = allocatedBytes();
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Stops the clocks and measures the path of the search started with begin
+	 * @param path: path returned by the search
+	 * @param grid: the grid searched
+	 */
+	void end(ArrayList<Node> path, ReadOnlyGrid grid) {
+		this.wallNanos = System.nanoTime() - this.startNanos;
+		long bytes = allocatedBytes();
+		this.allocatedBytes = bytes == -1 || this.startBytes == -1 ? -1 : bytes - this.startBytes;
+		this.pathLength = path.size();
+		for(Node node : path) {
+			this.pathCost += grid.cost(grid.index(node.x, node.y));
+		}
+	}
+
+	/**
+	 * Returns the number of nodes whose neighbours were evaluated
+	 * @return nodes expanded
+	 */
+	public long getNodesExpanded() {
+		return this.expanded;
+	}
+
+	/**
+	 * Returns the number of edges that lowered the distance of a node or reached it
+	 * @return edges relaxed
+	 */
+	public long getEdgesRelaxed() {
+		return this.relaxed;
+	}
+
+	/**
+	 * Returns the number of nodes added to the frontier
+	 * @return queue pushes
+	 */
+	public long getQueuePushes() {
+		return this.pushes;
+	}
+
+	/**
+	 * Returns the number of nodes removed from the frontier
+	 * @return queue pops
+	 */
+	public long getQueuePops() {
+		return this.pops;
+	}
+
+	/**
+	 * Returns the largest number of nodes in the frontier at once
+	 * @return peak frontier size
+	 */
+	public long getPeakFrontier() {
+		return this.peakFrontier;
+	}
+
+	/**
+	 * Returns the number of nodes of the path, the source excluded
+	 * @return path length
+	 */
+	public long getPathLength() {
+		return this.pathLength;
+	}
+
+	/**
+	 * Returns the sum of the costs of the nodes of the path
+	 * @return path cost
+	 */
+	public double getPathCost() {
+		return this.pathCost;
+	}
+
+	/**
+	 * Returns the time the search took
+	 * @return wall time in nanoseconds
+	 */
+	public long getWallTimeNanos() {
+		return this.wallNanos;
+	}
+
+	/**
+	 * Returns the bytes allocated by the thread running the search, threads helping it
+	 * (delta-stepping's pool) are not counted
+	 * @return allocated bytes, -1 when the JVM does not count them
+	 */
+	public long getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+
+	//Returns the bytes allocated so far by the calling thread, -1 if they are not counted
+	private static long allocatedBytes() {
+		if(THREADS == null) {
+			return -1;
+		}
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	//Returns the thread bean if it counts the allocated bytes, null otherwise
+	private static com.sun.management.ThreadMXBean threadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if(bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+			if(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+				return threads;
+			}
+		}
+		return null;
+	}
+}
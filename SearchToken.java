@@ -0,0 +1,54 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class lets another thread stop a running search, or stops it once its time budget is spent.
+ * The search polls the token from its main loop, a stopped search returns the path
+ * to the reached node closest to the destination.
+ */
+public class SearchToken {
+	private volatile boolean cancelled;
+	//System.nanoTime() after which the search stops, only used when hasDeadline is true
+	private final long deadline;
+	private final boolean hasDeadline;
+
+	/**
+	 * Unargumented constructor, the search only stops when cancel is called
+	 */
+	public SearchToken() {
+		this.deadline = 0;
+		this.hasDeadline = false;
+	}
+
+	/**
+	 * argumented constructor
+	 * @param budgetMillis: milliseconds the search may run from now
+	 */
+	public SearchToken(long budgetMillis) {
+		this.deadline = System.nanoTime() + budgetMillis * 1000000;
+		this.hasDeadline = true;
+	}
+
+	/**
+	 * Asks the search to stop, it may be called from any thread
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * Returns true if cancel was called
+	 * @return true if the search was cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Returns true if the search must stop, because it was cancelled or its budget is spent
+	 * @return true if the search must stop
+	 */
+	public boolean isStopped() {
+		return this.cancelled || (this.hasDeadline && System.nanoTime() - this.deadline >= 0);
+	}
+}
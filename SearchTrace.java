@@ -0,0 +1,113 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * This class records what a search did so it can be replayed later:
+ * the visited cells in the order of the visits and the path found.
+ * A visit is stored as the cell index shifted left by one, with the lowest bit set
+ * for visits of the backward search, so no object is created per visit.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SearchTrace {
+	private int columns;
+	private int[] visits;
+	private int visitCount;
+	//cell indices of the path from the source side to the destination, source excluded
+	private int[] path;
+
+	/**
+	 * argumented constructor
+	 * @param columns: number of columns of the grid searched
+	 */
+	public SearchTrace(int columns) {
+		this.columns = columns;
+		this.visits = new int[1024];
+		this.path = new int[0];
+	}
+
+	/**
+	 * Records a visit
+	 * @param x: x coordinate of the visited cell
+	 * @param y: y coordinate of the visited cell
+	 * @param backward: true if the visit is made by the backward search
+	 */
+	public void addVisit(int x, int y, boolean backward) {
+		if(this.visitCount == this.visits.length) {
+			this.visits = Arrays.copyOf(this.visits, this.visits.length * 2);
+		}
+		this.visits[this.visitCount++] = (x * this.columns + y) << 1 | (backward ? 1 : 0);
+	}
+
+	/**
+	 * Records the path found by the search
+	 * @param nodes: nodes of the path from the destination to the source (excluded), as returned by findPath
+	 */
+	public void setPath(ArrayList<Node> nodes) {
+		this.path = new int[nodes.size()];
+		for(int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.get(i);
+			this.path[nodes.size() - i - 1] = node.x * this.columns + node.y;
+		}
+	}
+
+	/**
+	 * Forgets the visits and the path of the previous search
+	 */
+	public void clear() {
+		this.visitCount = 0;
+		this.path = new int[0];
+	}
+
+	/**
+	 * Returns the number of recorded visits
+	 * @return number of visits
+	 */
+	public int visitCount() {
+		return this.visitCount;
+	}
+
+	/**
+	 * Returns the index of the cell of a visit
+	 * @param i: number of the visit, in the order of the visits
+	 * @return index of the visited cell
+	 */
+	public int visitIndex(int i) {
+		return this.visits[i] >>> 1;
+	}
+
+	/**
+	 * Returns true if a visit is made by the backward search
+	 * @param i: number of the visit, in the order of the visits
+	 * @return true for the backward search
+	 */
+	public boolean isBackward(int i) {
+		return (this.visits[i] & 1) != 0;
+	}
+
+	/**
+	 * Returns the number of cells of the path, the source is not counted
+	 * @return length of the path, 0 if no path was found
+	 */
+	public int pathLength() {
+		return this.path.length;
+	}
+
+	/**
+	 * Returns the index of a cell of the path
+	 * @param i: position on the path, 0 is the cell next to the source
+	 * @return index of the cell
+	 */
+	public int pathIndex(int i) {
+		return this.path[i];
+	}
+
+	/**
+	 * Returns the number of columns of the grid searched, to turn indices into coordinates
+	 * @return number of columns
+	 */
+	public int getColumns() {
+		return this.columns;
+	}
+}
@@ -0,0 +1,180 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * JMH benchmark of findPath for every algorithm, on square grids of several sizes and layouts.
+ * Every grid is generated from a fixed seed, so the numbers of two runs are comparable.
+ * The search goes from the top left to the bottom right corner.
+ */
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindPathBenchmark {
+
+	//seed of every generated grid
+	private static final long SEED = 42;
+
+	//larger grids are measured on request, e.g. -p size=2000
+	@Param({"50", "200", "1000"})
+	public int size;
+
+	@Param({"EMPTY", "RANDOM_WALLS", "MAZE", "WEIGHTED"})
+	public LAYOUT layout;
+
+	//Bellman-Ford sweeps take hours on the large mazes, it is measured on request,
+	//e.g. -p algorithm=BELLMANFORD -p size=50,200
+	@Param({"DIJKSTRA", "ASTAR", "BFS", "DFS", "SPFA", "BIDIRECTIONAL_BFS",
+		"BIDIRECTIONAL_DIJKSTRA", "JPS", "DELTA_STEPPING", "HPASTAR", "ALT"})
+	public ALGORITHMS algorithm;
+
+	private Graph graph;
+
+	@Setup(Level.Trial)
+	public void createGraph() {
+		GridModel grid = createGrid(this.size, this.layout);
+		this.graph = this.algorithm.create(grid);
+		this.graph.setSource(0, 0);
+		this.graph.setDestination(this.size - 1, this.size - 1);
+	}
+
+	@Benchmark
+	//the reset is part of every query in the application as well
+	public ArrayList<Node> findPath() {
+		this.graph.reset();
+		return this.graph.findPath();
+	}
+
+	/**
+	 * Generates a square grid, the corners are never walls
+	 * @param size: number of rows and columns
+	 * @param layout: the obstacle pattern
+	 * @return the grid
+	 */
+	static GridModel createGrid(int size, LAYOUT layout) {
+		GridModel grid = new GridModel(size, size);
+		Random random = new Random(SEED);
+		switch(layout) {
+			case EMPTY:
+				break;
+			case RANDOM_WALLS:
+				for(int i = 0; i < grid.size(); i++) {
+					if(random.nextDouble() < 0.25) {
+						grid.toggleWall(i);
+					}
+				}
+				break;
+			case MAZE:
+				carveMaze(grid, random);
+				break;
+			case WEIGHTED:
+				for(int i = 0; i < grid.size(); i++) {
+					if(random.nextDouble() < 0.3) {
+						grid.toggleWeight(i);
+					}
+				}
+				break;
+		}
+		//keep the source and destination open
+		int[] corners = {grid.index(0, 0), grid.index(size - 1, size - 1)};
+		for(int corner : corners) {
+			if(grid.isWall(corner)) {
+				grid.toggleWall(corner);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Turns the grid into a maze with a randomised depth first search.
+	 * Cells with even row and column are rooms, the cells between two rooms are
+	 * opened when the search moves between them.
+	 * @param grid: a grid without walls
+	 * @param random: source of the random moves
+	 */
+	private static void carveMaze(GridModel grid, Random random) {
+		int rows = grid.rows;
+		int columns = grid.columns;
+		for(int i = 0; i < grid.size(); i++) {
+			grid.toggleWall(i);
+		}
+
+		//stack of rooms, each room is pushed at most once
+		int[] stack = new int[grid.size()];
+		int top = 0;
+		int[] dx = {0, -2, 0, 2};
+		int[] dy = {-2, 0, 2, 0};
+		int[] order = {0, 1, 2, 3};
+
+		grid.toggleWall(0);
+		stack[top++] = 0;
+		while(top > 0) {
+			int room = stack[top - 1];
+			int x = room / columns;
+			int y = room % columns;
+
+			//shuffle the directions and move to the first room still closed
+			for(int i = order.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int swap = order[i];
+				order[i] = order[j];
+				order[j] = swap;
+			}
+			boolean moved = false;
+			for(int d : order) {
+				int nx = x + dx[d];
+				int ny = y + dy[d];
+				if(nx < 0 || ny < 0 || nx >= rows || ny >= columns || !grid.isWall(grid.index(nx, ny))) {
+					continue;
+				}
+				grid.toggleWall(grid.index(x + dx[d] / 2, y + dy[d] / 2));
+				grid.toggleWall(grid.index(nx, ny));
+				stack[top++] = grid.index(nx, ny);
+				moved = true;
+				break;
+			}
+			if(!moved) {
+				top--;
+			}
+		}
+
+		//with an even size the last row and column have no rooms, open a way to the corner
+		for(int x = rows - 1; x >= 0 && grid.isWall(grid.index(x, columns - 1)); x--) {
+			grid.toggleWall(grid.index(x, columns - 1));
+		}
+	}
+
+	/**
+	 * Runs the benchmarks with the GC profiler, which reports the allocation rate.
+	 * Accepts the usual JMH command line options, every benchmark runs if none is named.
+	 */
+	public static void main(String[] args) throws IOException {
+		//the JMH launcher handles -l, -h and the benchmark names, the profiler goes in front
+		String[] options = new String[args.length + 2];
+		options[0] = "-prof";
+		options[1] = "gc";
+		System.arraycopy(args, 0, options, 2, args.length);
+		Main.main(options);
+	}
+}
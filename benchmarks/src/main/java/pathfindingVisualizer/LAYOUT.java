@@ -0,0 +1,18 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * An enum class of grid layouts
+ * This class defines the obstacle patterns the algorithms are measured on.
+ * It is public because the code JMH generates for the benchmark parameters lives in another package.
+ */
+public enum LAYOUT {
+	//no walls, no weight nodes
+	EMPTY,
+	//25% of the cells are walls
+	RANDOM_WALLS,
+	//a perfect maze, corridors one cell wide
+	MAZE,
+	//30% of the cells are weight nodes
+	WEIGHTED
+}
@@ -0,0 +1,93 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * JMH benchmark of QueryService under concurrent load.
+ * Every benchmark thread runs random queries on the shared snapshot from its own thread,
+ * so the throughput shows how the queries scale with the number of threads (-t).
+ */
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class QueryServiceBenchmark {
+
+	@Param({"200", "1000"})
+	public int size;
+
+	@Param({"RANDOM_WALLS", "WEIGHTED"})
+	public LAYOUT layout;
+
+	@Param({"DIJKSTRA", "ASTAR", "JPS", "ALT"})
+	public ALGORITHMS algorithm;
+
+	private QueryService service;
+	//open cells, the sources and destinations are picked among them
+	private int[] open;
+
+	/**
+	 * A class to define the random queries of one benchmark thread.
+	 * Every thread draws its queries from its own fixed seed, so the queries of two runs are the same.
+	 */
+	@State(Scope.Thread)
+	public static class Queries {
+		//seed of the next thread's queries
+		private static final AtomicLong SEEDS = new AtomicLong(42);
+		private Random random;
+
+		@Setup(Level.Trial)
+		public void createRandom() {
+			this.random = new Random(SEEDS.getAndIncrement());
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createService() {
+		GridModel grid = FindPathBenchmark.createGrid(this.size, this.layout);
+		//the benchmark threads run the queries themselves, the pool stays idle
+		this.service = new QueryService(grid, 1);
+		this.open = new int[grid.size()];
+		int count = 0;
+		for(int i = 0; i < grid.size(); i++) {
+			if(!grid.isWall(i)) {
+				this.open[count++] = i;
+			}
+		}
+		this.open = Arrays.copyOf(this.open, count);
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		this.service.shutdown();
+	}
+
+	@Benchmark
+	public QueryService.Result query(Queries queries) {
+		int source = this.open[queries.random.nextInt(this.open.length)];
+		int destination = this.open[queries.random.nextInt(this.open.length)];
+		return this.service.query(this.algorithm, source, destination, null);
+	}
+}
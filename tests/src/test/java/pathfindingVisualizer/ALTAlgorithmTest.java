@@ -0,0 +1,83 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the paths of ALT with Dijkstra's on random grids and checks that the landmark
+ * estimates never exceed the real costs.
+ */
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ALTAlgorithmTest {
+
+	//number of random grids and queries or edits per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void findsCheapestPathsWithEveryLandmarkCount() {
+		for(int landmarks : new int[] {1, ALTAlgorithm.DEFAULT_LANDMARKS}) {
+			for(int seed = 0; seed < GRIDS; seed++) {
+				Random random = new Random(seed);
+				GridModel grid = TestGrids.randomGrid(random, true);
+				ALTAlgorithm alt = new ALTAlgorithm(grid, landmarks);
+				DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+				for(int query = 0; query < QUERIES; query++) {
+					int source = TestGrids.openCell(grid, random);
+					int destination = TestGrids.openCell(grid, random);
+					TestGrids.assertSameCost(grid, alt, dijkstra, source, destination, landmarks + " landmarks, seed " + seed + ", query " + query);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void estimatesAreLowerBounds() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			LandmarkHeuristic landmarks = new LandmarkHeuristic(grid, ALTAlgorithm.DEFAULT_LANDMARKS);
+			int destination = TestGrids.openCell(grid, random);
+			DistanceField field = new DistanceField(grid, destination);
+			int destinationX = destination / grid.columns;
+			int destinationY = destination % grid.columns;
+			for(int cell = 0; cell < grid.size(); cell++) {
+				double cost = field.getDistance(cell);
+				if(grid.isWall(cell) || cost == Double.POSITIVE_INFINITY) {
+					continue;
+				}
+				double estimate = landmarks.estimate(cell / grid.columns, cell % grid.columns, destinationX, destinationY);
+				//the field stores floats, it may be rounded by half a unit in the last place
+				assertTrue(estimate <= cost + Math.ulp((float)cost), "seed " + seed + ", cell " + cell + ": " + estimate + " > " + cost);
+			}
+		}
+	}
+
+	@Test
+	public void followsEdits() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			ALTAlgorithm alt = new ALTAlgorithm(grid);
+			DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			for(int edit = 0; edit < QUERIES; edit++) {
+				TestGrids.assertSameCost(grid, alt, dijkstra, source, destination, "seed " + seed + ", edit " + edit);
+				assertTrue(alt.getLandmarks().isCurrent());
+				//cheaper cells would make the old tables overestimate
+				for(int i = 0; i < 5; i++) {
+					int cell = random.nextInt(grid.size());
+					if(cell != source && cell != destination && !grid.isWall(cell)) {
+						grid.setCost(cell, 1);
+					}
+				}
+				assertFalse(alt.getLandmarks().isCurrent());
+			}
+		}
+	}
+}
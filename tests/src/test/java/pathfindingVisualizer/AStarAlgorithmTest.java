@@ -0,0 +1,47 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the paths of A* with every heuristic with Dijkstra's on random grids.
+ */
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AStarAlgorithmTest {
+
+	//number of random grids and queries per grid
+	private static final int GRIDS = 30;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void everyHeuristicFindsCheapestPaths() {
+		for(HEURISTIC heuristic : HEURISTIC.values()) {
+			for(int seed = 0; seed < GRIDS; seed++) {
+				Random random = new Random(seed);
+				GridModel grid = TestGrids.randomGrid(random, true);
+				AStarAlgorithm aStar = new AStarAlgorithm(grid, heuristic);
+				DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+				for(int query = 0; query < QUERIES; query++) {
+					int source = TestGrids.openCell(grid, random);
+					int destination = TestGrids.openCell(grid, random);
+					TestGrids.assertSameCost(grid, aStar, dijkstra, source, destination, heuristic + ", seed " + seed + ", query " + query);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void heuristicCanBeChangedBetweenSearches() {
+		Random random = new Random(1);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		AStarAlgorithm aStar = new AStarAlgorithm(grid);
+		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+		int source = TestGrids.openCell(grid, random);
+		int destination = TestGrids.openCell(grid, random);
+		for(HEURISTIC heuristic : HEURISTIC.values()) {
+			aStar.setHeuristic(heuristic);
+			TestGrids.assertSameCost(grid, aStar, dijkstra, source, destination, heuristic.toString());
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests that the algorithms of a race find the cheapest paths of the snapshot the race searched,
+ * including after edits, when the runners are moved to a new snapshot.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AlgorithmRaceTest {
+
+	//algorithms that find the cheapest paths
+	private static final List<ALGORITHMS> OPTIMAL = Arrays.asList(ALGORITHMS.DIJKSTRA, ALGORITHMS.ASTAR,
+			ALGORITHMS.BIDIRECTIONAL_DIJKSTRA, ALGORITHMS.DELTA_STEPPING, ALGORITHMS.ALT);
+
+	@Test
+	public void racersFindCheapestPathsAcrossEdits() {
+		Random random = new Random(25);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		AlgorithmRace race = new AlgorithmRace(grid);
+		for(int round = 0; round < 20; round++) {
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			List<AlgorithmRace.Result> results = race.run(OPTIMAL, source, destination, null);
+			assertEquals(grid.getVersion(), race.getSnapshot().getVersion());
+			float expected = new DistanceField(race.getSnapshot(), destination).getDistance(source);
+			for(int i = 0; i < OPTIMAL.size(); i++) {
+				AlgorithmRace.Result result = results.get(i);
+				String message = "round " + round + ", " + result.algorithm;
+				assertEquals(OPTIMAL.get(i), result.algorithm, message);
+				assertFalse(result.stopped, message);
+				if(expected != Float.POSITIVE_INFINITY) {
+					//the field stores its distances as floats
+					assertEquals(expected, result.stats.getPathCost(), 1e-3, message);
+				}
+			}
+			//the next race searches a new snapshot
+			for(int edit = 0; edit < 5; edit++) {
+				int cell = random.nextInt(grid.size());
+				if(cell != source && cell != destination) {
+					grid.toggleWall(cell);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares both modes of Bellman-Ford with Dijkstra's algorithm and tests the negative cycle detection.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BellmanFordAlgorithmTest {
+
+	//number of random grids and queries per grid
+	private static final int GRIDS = 20;
+	private static final int QUERIES = 5;
+
+	@Test
+	public void bothModesFindCheapestPaths() {
+		for(BellmanFordAlgorithm.MODE mode : BellmanFordAlgorithm.MODE.values()) {
+			for(int seed = 0; seed < GRIDS; seed++) {
+				Random random = new Random(seed);
+				GridModel grid = TestGrids.randomGrid(random, true);
+				BellmanFordAlgorithm bellmanFord = new BellmanFordAlgorithm(grid, mode);
+				DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+				for(int query = 0; query < QUERIES; query++) {
+					int source = TestGrids.openCell(grid, random);
+					int destination = TestGrids.openCell(grid, random);
+					TestGrids.assertSameCost(grid, bellmanFord, dijkstra, source, destination, mode + ", seed " + seed + ", query " + query);
+					assertFalse(bellmanFord.hasNegativeCycle());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void modesAgreeWithNegativeCosts() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, false);
+			//negative cells are never neighbours, so every cycle enters at least as many cells of cost 1
+			for(int index = 0; index < grid.size(); index++) {
+				if(!grid.isWall(index) && (index / grid.columns + index % grid.columns) % 2 == 0 && random.nextInt(5) == 0) {
+					grid.setCost(index, -0.5);
+				}
+			}
+			BellmanFordAlgorithm sweep = new BellmanFordAlgorithm(grid, BellmanFordAlgorithm.MODE.SWEEP);
+			BellmanFordAlgorithm spfa = new BellmanFordAlgorithm(grid, BellmanFordAlgorithm.MODE.SPFA);
+			for(int query = 0; query < QUERIES; query++) {
+				int source = TestGrids.openCell(grid, random);
+				int destination = TestGrids.openCell(grid, random);
+				TestGrids.assertSameCost(grid, spfa, sweep, source, destination, "seed " + seed + ", query " + query);
+				assertFalse(sweep.hasNegativeCycle());
+				assertFalse(spfa.hasNegativeCycle());
+			}
+		}
+	}
+
+	@Test
+	public void negativeCyclesAreDetected() {
+		GridModel grid = new GridModel(10, 10);
+		//moving back and forth between these cells costs -4
+		grid.setCost(grid.index(5, 5), -2);
+		grid.setCost(grid.index(5, 6), -2);
+		for(BellmanFordAlgorithm.MODE mode : BellmanFordAlgorithm.MODE.values()) {
+			BellmanFordAlgorithm bellmanFord = new BellmanFordAlgorithm(grid, mode);
+			ArrayList<Node> path = TestGrids.search(bellmanFord, grid.index(0, 0), grid.index(9, 9));
+			assertTrue(bellmanFord.hasNegativeCycle(), mode.toString());
+			assertTrue(path.isEmpty(), mode.toString());
+		}
+	}
+
+	@Test
+	public void unreachableNegativeCyclesAreIgnored() {
+		GridModel grid = new GridModel(10, 10);
+		grid.setCost(grid.index(8, 8), -2);
+		grid.setCost(grid.index(8, 9), -2);
+		//walls around the cycle in the bottom right corner
+		for(int i = 7; i < 10; i++) {
+			grid.toggleWall(grid.index(7, i));
+		}
+		grid.toggleWall(grid.index(8, 7));
+		grid.toggleWall(grid.index(9, 7));
+		for(BellmanFordAlgorithm.MODE mode : BellmanFordAlgorithm.MODE.values()) {
+			BellmanFordAlgorithm bellmanFord = new BellmanFordAlgorithm(grid, mode);
+			ArrayList<Node> path = TestGrids.search(bellmanFord, grid.index(0, 0), grid.index(6, 6));
+			assertFalse(bellmanFord.hasNegativeCycle(), mode.toString());
+			assertEquals(12, path.size(), mode.toString());
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the bidirectional searches with their one-directional versions on random grids.
+ */
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BidirectionalSearchTest {
+
+	//number of random grids and queries per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void bidirectionalBfsFindsShortestPaths() {
+		//BFS counts moves, the grids have no weight nodes
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, false);
+			Graph bidirectional = new BidirectionalBFSAlgorithm(grid);
+			Graph bfs = new BFSAlgorithm(grid);
+			this.compare(grid, bidirectional, bfs, random, "seed " + seed);
+		}
+	}
+
+	@Test
+	public void bidirectionalDijkstraFindsCheapestPaths() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			Graph bidirectional = new BidirectionalDijkstraAlgorithm(grid);
+			Graph dijkstra = new DijkstraAlgorithm(grid);
+			this.compare(grid, bidirectional, dijkstra, random, "seed " + seed);
+		}
+	}
+
+	@Test
+	public void bothFrontiersReportTheirVisits() {
+		GridModel grid = new GridModel(20, 20);
+		Graph bidirectional = new BidirectionalDijkstraAlgorithm(grid);
+		final boolean[] frontiers = new boolean[FRONTIER.values().length];
+		bidirectional.addNodeVisitedListener(new NodeVisitedListener() {
+			@Override
+			public void nodeVisited(int x, int y) {
+			}
+
+			@Override
+			public void nodeVisited(int x, int y, FRONTIER frontier) {
+				frontiers[frontier.ordinal()] = true;
+			}
+		});
+		TestGrids.search(bidirectional, grid.index(0, 0), grid.index(19, 19));
+		assertTrue(frontiers[FRONTIER.FORWARD.ordinal()]);
+		assertTrue(frontiers[FRONTIER.BACKWARD.ordinal()]);
+	}
+
+	//Runs random queries with both algorithms and compares their paths
+	private void compare(GridModel grid, Graph graph, Graph reference, Random random, String message) {
+		for(int query = 0; query < QUERIES; query++) {
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			TestGrids.assertSameCost(grid, graph, reference, source, destination, message + ", query " + query);
+		}
+	}
+}
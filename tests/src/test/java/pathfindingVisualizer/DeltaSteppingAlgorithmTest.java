@@ -0,0 +1,122 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the paths of delta-stepping with Dijkstra's on random grids, with one and several threads.
+ */
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+public class DeltaSteppingAlgorithmTest {
+
+	//number of random grids and queries per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void findsCheapestPathsWithEveryThreadCount() {
+		for(int parallelism : new int[] {1, 4}) {
+			for(int seed = 0; seed < GRIDS; seed++) {
+				Random random = new Random(seed);
+				GridModel grid = this.costGrid(random, 10);
+				this.compare(grid, new DeltaSteppingAlgorithm(grid, parallelism), random, parallelism + " threads, seed " + seed);
+			}
+		}
+	}
+
+	@Test
+	public void findsCheapestPathsWithEveryDelta() {
+		for(double delta : new double[] {0.5, 3, 100}) {
+			Random random = new Random(8);
+			GridModel grid = this.costGrid(random, 10);
+			DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(grid, 2);
+			deltaStepping.setDelta(delta);
+			this.compare(grid, deltaStepping, random, "delta " + delta);
+		}
+	}
+
+	@Test
+	public void findsCheapestPathsWithVeryExpensiveCells() {
+		//the buckets are widened instead of allocating one per unit of cost
+		Random random = new Random(9);
+		GridModel grid = this.costGrid(random, 1e9);
+		this.compare(grid, new DeltaSteppingAlgorithm(grid, 2), random, "costs up to 1e9");
+	}
+
+	@Test
+	public void rejectsInvalidSettings() {
+		GridModel grid = new GridModel(5, 5);
+		DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(grid, 1);
+		assertThrows(IllegalArgumentException.class, new Executable() {
+			@Override
+			public void execute() {
+				deltaStepping.setParallelism(0);
+			}
+		});
+		assertThrows(IllegalArgumentException.class, new Executable() {
+			@Override
+			public void execute() {
+				deltaStepping.setDelta(0);
+			}
+		});
+		assertThrows(IllegalArgumentException.class, new Executable() {
+			@Override
+			public void execute() {
+				deltaStepping.setDelta(Double.NaN);
+			}
+		});
+		assertThrows(IllegalArgumentException.class, new Executable() {
+			@Override
+			public void execute() {
+				deltaStepping.setDelta(Double.POSITIVE_INFINITY);
+			}
+		});
+		assertThrows(IllegalArgumentException.class, new Executable() {
+			@Override
+			public void execute() {
+				grid.setCost(0, Double.NaN);
+			}
+		});
+	}
+
+	@Test
+	public void rejectsNegativeCostsAndStaysUsable() {
+		GridModel grid = new GridModel(5, 5);
+		DeltaSteppingAlgorithm deltaStepping = new DeltaSteppingAlgorithm(grid, 1);
+		grid.setCost(grid.index(0, 1), -1);
+		assertThrows(IllegalStateException.class, new Executable() {
+			@Override
+			public void execute() {
+				TestGrids.search(deltaStepping, 0, 24);
+			}
+		});
+		//the next run starts from infinite distances again
+		grid.setCost(grid.index(0, 1), 1);
+		TestGrids.assertSameCost(grid, deltaStepping, new DijkstraAlgorithm(grid), 0, 24, "after a rejected run");
+	}
+
+	//Generates a random grid whose open cells cost from 1 to maxCost
+	private GridModel costGrid(Random random, double maxCost) {
+		GridModel grid = TestGrids.randomGrid(random, false);
+		for(int index = 0; index < grid.size(); index++) {
+			if(!grid.isWall(index) && random.nextInt(3) == 0) {
+				grid.setCost(index, 1 + random.nextDouble() * (maxCost - 1));
+			}
+		}
+		return grid;
+	}
+
+	//Compares random queries of delta-stepping with Dijkstra's on the same grid
+	private void compare(GridModel grid, DeltaSteppingAlgorithm deltaStepping, Random random, String message) {
+		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+		for(int query = 0; query < QUERIES; query++) {
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			TestGrids.assertSameCost(grid, deltaStepping, dijkstra, source, destination, message + ", query " + query);
+		}
+	}
+}
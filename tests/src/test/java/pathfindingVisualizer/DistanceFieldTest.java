@@ -0,0 +1,59 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the distances and paths of DistanceField with Dijkstra's on random grids.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DistanceFieldTest {
+
+	//number of random grids and sources per grid
+	private static final int GRIDS = 20;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void pathsFromEverySourceAreCheapest() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+			int destination = TestGrids.openCell(grid, random);
+			DistanceField field = new DistanceField(grid, destination);
+			for(int query = 0; query < QUERIES; query++) {
+				String message = "seed " + seed + ", query " + query;
+				int source = TestGrids.openCell(grid, random);
+				ArrayList<Node> expected = TestGrids.search(dijkstra, source, destination);
+				ArrayList<Node> path = field.pathFrom(source / grid.columns, source % grid.columns);
+				if(source == destination) {
+					assertTrue(path.isEmpty(), message);
+					continue;
+				}
+				TestGrids.assertValid(grid, path, source, destination, message);
+				assertEquals(expected.isEmpty(), path.isEmpty(), message + ": the destination is reached by one search only");
+				assertEquals(TestGrids.cost(grid, expected), TestGrids.cost(grid, path), 1e-9, message);
+				if(!path.isEmpty()) {
+					assertEquals(TestGrids.cost(grid, path), field.getDistance(source), 1e-3, message);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void fieldsOfASnapshotIgnoreLaterEdits() {
+		GridModel grid = new GridModel(10, 10);
+		DistanceField field = new DistanceField(grid.snapshot(), grid.index(9, 9));
+		//a wall across the grid cuts the destination off
+		for(int y = 0; y < 10; y++) {
+			grid.toggleWall(grid.index(5, y));
+		}
+		assertEquals(18, field.pathFrom(0, 0).size());
+		assertEquals(0, new DistanceField(grid, grid.index(9, 9)).pathFrom(0, 0).size());
+	}
+}
@@ -0,0 +1,155 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests reading grids in the text format and writing and reading them back in the binary format.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GridIOTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void readsTheTextFormat() throws IOException {
+		Path path = this.write("grid.txt",
+				"; a comment",
+				".#W",
+				"",
+				"19.");
+		GridModel grid = GridIO.readText(path);
+		assertEquals(2, grid.rows);
+		assertEquals(3, grid.columns);
+		assertTrue(grid.isWall(grid.index(0, 1)));
+		assertEquals(GridModel.WEIGHT_COST, grid.cost(grid.index(0, 2)));
+		assertEquals(1, grid.cost(grid.index(1, 0)));
+		assertEquals(9, grid.cost(grid.index(1, 1)));
+		assertEquals(1, grid.cost(grid.index(1, 2)));
+		assertEquals(GridModel.WEIGHT_COST, grid.maxCost());
+
+		//read detects the text format, there is no source or destination in it
+		GridIO.GridFile file = GridIO.read(path);
+		assertEquals(-1, file.source);
+		assertEquals(-1, file.destination);
+		assertSameCells(grid, file.grid);
+	}
+
+	@Test
+	public void rejectsInvalidText() throws IOException {
+		assertUnreadable(this.write("ragged.txt", "...", ".."));
+		assertUnreadable(this.write("unknown.txt", ".x."));
+		assertUnreadable(this.write("empty.txt", "; nothing"));
+	}
+
+	@Test
+	public void textGridsRoundTripThroughTheBinaryFormat() throws IOException {
+		GridModel grid = GridIO.readText(this.write("grid.txt",
+				"..#..W",
+				"#.9..#",
+				"W....3"));
+		Path path = this.directory.resolve("grid.bin");
+		GridIO.writeBinary(path, grid, grid.index(0, 0), grid.index(2, 4));
+		GridIO.GridFile file = GridIO.read(path);
+		assertEquals(grid.index(0, 0), file.source);
+		assertEquals(grid.index(2, 4), file.destination);
+		assertSameCells(grid, file.grid);
+	}
+
+	@Test
+	public void randomGridsRoundTripThroughTheBinaryFormat() throws IOException {
+		Random random = new Random(12);
+		for(int seed = 0; seed < 10; seed++) {
+			//sizes around the 64 cells of a wall word
+			GridModel grid = new GridModel(1 + random.nextInt(40), 1 + random.nextInt(70));
+			for(int i = 0; i < grid.size(); i++) {
+				double roll = random.nextDouble();
+				if(roll < 0.3) {
+					grid.toggleWall(i);
+				}
+				else if(roll < 0.5) {
+					grid.setCost(i, 1 + random.nextDouble() * 20);
+				}
+			}
+			Path path = this.directory.resolve("grid" + seed + ".bin");
+			GridIO.writeBinary(path, grid, -1, grid.size() - 1);
+			GridIO.GridFile file = GridIO.readBinary(path);
+			assertEquals(-1, file.source);
+			assertEquals(grid.size() - 1, file.destination);
+			assertSameCells(grid, file.grid);
+		}
+	}
+
+	@Test
+	public void rejectsBinaryCostsTheTextFormatCanNotHold() throws IOException {
+		GridModel grid = new GridModel(4, 5);
+		Path path = this.directory.resolve("grid.bin");
+		for(double cost : new double[] {Double.NaN, Double.POSITIVE_INFINITY, 0.5, 0, -1}) {
+			GridIO.writeBinary(path, grid, 0, 1);
+			//the cost of the last cell ends the file
+			try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+				buffer.putDouble(cost).flip();
+				channel.write(buffer, channel.size() - Double.BYTES);
+			}
+			assertUnreadable(path);
+		}
+	}
+
+	@Test
+	public void computesTheMaximumCostFromTheCells() throws IOException {
+		GridModel grid = new GridModel(3, 3);
+		grid.setCost(4, 7);
+		Path path = this.directory.resolve("grid.bin");
+		GridIO.writeBinary(path, grid, 0, 8);
+		//the maximum cost of the header, after the magic, version, rows, columns, source and destination
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putDouble(1e9).flip();
+			channel.write(buffer, 6 * Integer.BYTES);
+		}
+		assertEquals(7, GridIO.readBinary(path).grid.maxCost());
+	}
+
+	//Writes the lines of a text file into the temporary directory
+	private Path write(String name, String... lines) throws IOException {
+		return Files.write(this.directory.resolve(name), String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	//Checks that reading a file fails
+	private static void assertUnreadable(Path path) {
+		try {
+			GridIO.read(path);
+			fail(path.getFileName() + " was read");
+		}
+		catch(IOException e) {
+			//expected
+		}
+	}
+
+	//Checks that two grids have the same size, walls and costs
+	private static void assertSameCells(GridModel expected, GridModel actual) {
+		assertEquals(expected.rows, actual.rows);
+		assertEquals(expected.columns, actual.columns);
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.isWall(i), actual.isWall(i), "wall " + i);
+			assertEquals(expected.cost(i), actual.cost(i), "cost " + i);
+		}
+		assertEquals(expected.maxCost(), actual.maxCost());
+	}
+}
@@ -0,0 +1,70 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Checks the paths of HPA* against Dijkstra's on random grids.
+ * HPA* plans across cluster entrances, its paths may cost more than the cheapest ones,
+ * but they must be valid and found whenever the destination can be reached.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class HPAStarAlgorithmTest {
+
+	//number of random grids and queries or edits per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void findsValidPathsWithEveryClusterSize() {
+		for(int clusterSize : new int[] {4, HPAStarAlgorithm.DEFAULT_CLUSTER_SIZE}) {
+			for(int seed = 0; seed < GRIDS; seed++) {
+				Random random = new Random(seed);
+				GridModel grid = TestGrids.randomGrid(random, true);
+				HPAStarAlgorithm hpaStar = new HPAStarAlgorithm(grid, clusterSize);
+				DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+				for(int query = 0; query < QUERIES; query++) {
+					int source = TestGrids.openCell(grid, random);
+					int destination = TestGrids.openCell(grid, random);
+					this.assertValidPath(grid, hpaStar, dijkstra, source, destination, "clusters of " + clusterSize + ", seed " + seed + ", query " + query);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void followsEdits() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			HPAStarAlgorithm hpaStar = new HPAStarAlgorithm(grid, 8);
+			DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			for(int edit = 0; edit < QUERIES; edit++) {
+				this.assertValidPath(grid, hpaStar, dijkstra, source, destination, "seed " + seed + ", edit " + edit);
+				//the abstract graph is repaired after a few walls changed
+				for(int i = 0; i < 5; i++) {
+					int cell = random.nextInt(grid.size());
+					if(cell != source && cell != destination) {
+						grid.toggleWall(cell);
+					}
+				}
+			}
+		}
+	}
+
+	//Searches with HPA* and Dijkstra, the path must be valid, found if Dijkstra finds one, and cost at least as much
+	private void assertValidPath(GridModel grid, Graph hpaStar, Graph dijkstra, int source, int destination, String message) {
+		ArrayList<Node> expected = TestGrids.search(dijkstra, source, destination);
+		ArrayList<Node> path = TestGrids.search(hpaStar, source, destination);
+		TestGrids.assertValid(grid, path, source, destination, message);
+		assertEquals(expected.isEmpty(), path.isEmpty(), message + ": the destination is reached by one algorithm only");
+		assertTrue(TestGrids.cost(grid, path) >= TestGrids.cost(grid, expected) - 1e-9, message);
+	}
+}
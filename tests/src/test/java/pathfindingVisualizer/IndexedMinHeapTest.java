@@ -0,0 +1,158 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests the order in which IndexedMinHeap removes its nodes, ties included.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexedMinHeapTest {
+
+	@Test
+	public void pollsInKeyOrder() {
+		Random random = new Random(1);
+		int capacity = 1000;
+		IndexedMinHeap heap = new IndexedMinHeap(capacity);
+		double[] keys = new double[capacity];
+		for(int i = 0; i < capacity; i++) {
+			keys[i] = random.nextInt(100000);
+			heap.insert(i, keys[i]);
+		}
+		Arrays.sort(keys);
+		for(int i = 0; i < capacity; i++) {
+			assertEquals(keys[i], heap.peekKey());
+			heap.poll();
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void equalKeysPollBySecondKeyThenIndex() {
+		IndexedMinHeap heap = new IndexedMinHeap(10);
+		heap.insert(5, 1, 2);
+		heap.insert(1, 2, 0);
+		heap.insert(3, 1, 2);
+		heap.insert(7, 1, 1);
+		heap.insert(2, 1, 2);
+		int[] order = new int[heap.size()];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = heap.poll();
+		}
+		assertEquals(Arrays.toString(new int[] {7, 2, 3, 5, 1}), Arrays.toString(order));
+	}
+
+	@Test
+	public void equalKeysPollInTheSameOrderWhateverTheInsertOrder() {
+		Random random = new Random(2);
+		int capacity = 200;
+		int[] expected = null;
+		for(int round = 0; round < 20; round++) {
+			Integer[] nodes = new Integer[capacity];
+			for(int i = 0; i < capacity; i++) {
+				nodes[i] = i;
+			}
+			Collections.shuffle(Arrays.asList(nodes), random);
+			IndexedMinHeap heap = new IndexedMinHeap(capacity);
+			for(int node : nodes) {
+				//few distinct keys and second keys, so most nodes tie
+				heap.insert(node, node % 3, node % 5);
+			}
+			int[] order = new int[capacity];
+			for(int i = 0; i < capacity; i++) {
+				order[i] = heap.poll();
+			}
+			if(expected == null) {
+				expected = order;
+			}
+			assertEquals(Arrays.toString(expected), Arrays.toString(order));
+		}
+	}
+
+	@Test
+	public void decreaseKeyMovesTheNodeForward() {
+		IndexedMinHeap heap = new IndexedMinHeap(4);
+		heap.insert(0, 5);
+		heap.insert(1, 3);
+		heap.insert(2, 4);
+		heap.decreaseKey(0, 1);
+		assertEquals(0, heap.peek());
+		assertEquals(1, heap.peekKey());
+		//an equal key with a smaller second key moves the node before its tie
+		heap.insert(3, 3, 1);
+		heap.decreaseKey(1, 3, 0);
+		heap.poll();
+		assertEquals(1, heap.poll());
+		assertEquals(3, heap.poll());
+		assertEquals(2, heap.poll());
+	}
+
+	@Test
+	public void updateRaisesAndLowersKeys() {
+		IndexedMinHeap heap = new IndexedMinHeap(4);
+		heap.insert(0, 1, 0);
+		heap.insert(1, 2, 0);
+		heap.insert(2, 3, 0);
+		heap.update(0, 5, 0);
+		assertEquals(1, heap.peek());
+		heap.update(2, 2, -1);
+		assertEquals(2, heap.peek());
+		assertEquals(-1, heap.peekTie());
+		assertEquals(2, heap.poll());
+		assertEquals(1, heap.poll());
+		assertEquals(0, heap.poll());
+	}
+
+	@Test
+	public void removeKeepsTheOtherNodesInOrder() {
+		Random random = new Random(3);
+		int capacity = 300;
+		IndexedMinHeap heap = new IndexedMinHeap(capacity);
+		double[] keys = new double[capacity];
+		for(int i = 0; i < capacity; i++) {
+			keys[i] = random.nextInt(1000);
+			heap.insert(i, keys[i]);
+		}
+		//remove every third node, wherever it is in the heap
+		for(int i = 0; i < capacity; i += 3) {
+			heap.remove(i);
+			assertFalse(heap.contains(i));
+		}
+		double previous = Double.NEGATIVE_INFINITY;
+		int count = 0;
+		while(!heap.isEmpty()) {
+			double key = heap.peekKey();
+			int node = heap.poll();
+			assertTrue(node % 3 != 0);
+			assertEquals(keys[node], key);
+			assertTrue(key >= previous);
+			previous = key;
+			count++;
+		}
+		assertEquals(capacity - (capacity + 2) / 3, count);
+	}
+
+	@Test
+	public void clearForgetsTheNodes() {
+		IndexedMinHeap heap = new IndexedMinHeap(4);
+		heap.insert(0, 2);
+		heap.insert(1, 1);
+		heap.insert(2, 3);
+		assertEquals(1, heap.poll());
+		assertFalse(heap.contains(1));
+		assertEquals(2, heap.size());
+		heap.clear();
+		assertTrue(heap.isEmpty());
+		assertFalse(heap.contains(2));
+		//cleared nodes can be inserted again
+		heap.insert(2, 7);
+		assertEquals(2, heap.poll());
+	}
+}
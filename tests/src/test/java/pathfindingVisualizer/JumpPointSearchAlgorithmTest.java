@@ -0,0 +1,54 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the paths of Jump Point Search with BFS's on random grids.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class JumpPointSearchAlgorithmTest {
+
+	//number of random grids and queries per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void findsShortestPaths() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, false);
+			JumpPointSearchAlgorithm jps = new JumpPointSearchAlgorithm(grid);
+			BFSAlgorithm bfs = new BFSAlgorithm(grid);
+			for(int query = 0; query < QUERIES; query++) {
+				int source = TestGrids.openCell(grid, random);
+				int destination = TestGrids.openCell(grid, random);
+				TestGrids.assertSameCost(grid, jps, bfs, source, destination, "seed " + seed + ", query " + query);
+			}
+		}
+	}
+
+	@Test
+	public void weightNodesAreIgnored() {
+		//every move costs 1, so the path is as long as BFS's whatever the weights
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			JumpPointSearchAlgorithm jps = new JumpPointSearchAlgorithm(grid);
+			BFSAlgorithm bfs = new BFSAlgorithm(grid);
+			for(int query = 0; query < QUERIES; query++) {
+				int source = TestGrids.openCell(grid, random);
+				int destination = TestGrids.openCell(grid, random);
+				String message = "seed " + seed + ", query " + query;
+				ArrayList<Node> expected = TestGrids.search(bfs, source, destination);
+				ArrayList<Node> path = TestGrids.search(jps, source, destination);
+				TestGrids.assertValid(grid, path, source, destination, message);
+				assertEquals(expected.size(), path.size(), message);
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Compares the paths of LPA* with Dijkstra's on random grids, before and after the grid is edited.
+ */
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LPAStarAlgorithmTest {
+
+	//number of random grids and queries or edits per grid
+	private static final int GRIDS = 40;
+	private static final int QUERIES = 10;
+
+	@Test
+	public void findsCheapestPaths() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			LPAStarAlgorithm lpaStar = new LPAStarAlgorithm(grid);
+			DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+			for(int query = 0; query < QUERIES; query++) {
+				int source = TestGrids.openCell(grid, random);
+				int destination = TestGrids.openCell(grid, random);
+				TestGrids.assertSameCost(grid, lpaStar, dijkstra, source, destination, "seed " + seed + ", query " + query);
+			}
+		}
+	}
+
+	@Test
+	public void followsEdits() {
+		for(int seed = 0; seed < GRIDS; seed++) {
+			Random random = new Random(seed);
+			GridModel grid = TestGrids.randomGrid(random, true);
+			LPAStarAlgorithm lpaStar = new LPAStarAlgorithm(grid);
+			DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(grid);
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			for(int edit = 0; edit < QUERIES; edit++) {
+				TestGrids.assertSameCost(grid, lpaStar, dijkstra, source, destination, "seed " + seed + ", edit " + edit);
+				//the same object searches again after a few walls and costs changed
+				for(int i = 0; i < 5; i++) {
+					int cell = random.nextInt(grid.size());
+					if(cell == source || cell == destination) {
+						continue;
+					}
+					if(random.nextBoolean()) {
+						grid.toggleWall(cell);
+					}
+					else if(!grid.isWall(cell)) {
+						grid.setCost(cell, 1 + random.nextInt(9));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void repairsOnlyWhatAnEditChanges() {
+		GridModel grid = new GridModel(40, 40);
+		LPAStarAlgorithm lpaStar = new LPAStarAlgorithm(grid);
+		final int[] visits = new int[1];
+		lpaStar.addNodeVisitedListener(new NodeVisitedListener() {
+			@Override
+			public void nodeVisited(int x, int y) {
+				visits[0]++;
+			}
+		});
+		TestGrids.search(lpaStar, grid.index(0, 0), grid.index(20, 20));
+		int first = visits[0];
+		//a wall far from every path to the destination
+		grid.toggleWall(grid.index(39, 39));
+		visits[0] = 0;
+		TestGrids.search(lpaStar, grid.index(0, 0), grid.index(20, 20));
+		assertTrue(visits[0] < first, visits[0] + " visits after the edit, " + first + " before");
+	}
+}
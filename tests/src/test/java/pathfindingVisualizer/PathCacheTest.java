@@ -0,0 +1,126 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests which edits of the grid drop the entries of PathCache.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PathCacheTest {
+
+	private GridModel grid;
+	private PathCache cache;
+
+	@BeforeEach
+	public void createCache() {
+		this.grid = new GridModel(50, 50);
+		this.cache = new PathCache(this.grid, 4);
+	}
+
+	@Test
+	public void answersRepeatedQueries() {
+		ArrayList<Node> path = this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		PathCache.Entry entry = this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 0), this.grid.index(0, 5));
+		assertNotNull(entry);
+		assertEquals(path, entry.path);
+		//the key holds the algorithm, the source and the destination
+		assertNull(this.cache.get(ALGORITHMS.DIJKSTRA, this.grid.index(0, 0), this.grid.index(0, 5)));
+		assertNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 5), this.grid.index(0, 0)));
+		assertEquals(1, this.cache.getHits());
+		assertEquals(2, this.cache.getMisses());
+	}
+
+	@Test
+	public void keepsTheStatsOfTheCachedSearch() {
+		Graph graph = ALGORITHMS.DIJKSTRA.create(this.grid);
+		graph.setSource(0, 0);
+		graph.setDestination(10, 10);
+		//the counters are measured by findPath(SearchToken), a null token runs the search to the end
+		ArrayList<Node> path = graph.findPath(null);
+		this.cache.put(ALGORITHMS.DIJKSTRA, graph, path, null);
+		long expanded = graph.getStats().getNodesExpanded();
+		//the next search of the same object must not change the cached counters
+		graph.reset();
+		graph.setDestination(0, 1);
+		graph.findPath(null);
+		PathCache.Entry entry = this.cache.get(ALGORITHMS.DIJKSTRA, this.grid.index(0, 0), this.grid.index(10, 10));
+		assertEquals(expanded, entry.stats.getNodesExpanded());
+		assertEquals(path.size(), entry.stats.getPathLength());
+	}
+
+	@Test
+	public void editsAroundTheExploredCellsDropTheEntry() {
+		//A* on an empty grid explores little more than the straight line
+		this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		this.edit(this.grid.index(1, 3));
+		assertNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 0), this.grid.index(0, 5)));
+	}
+
+	@Test
+	public void editsFarFromTheExploredCellsKeepTheEntry() {
+		this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		this.edit(this.grid.index(40, 40));
+		this.edit(this.grid.index(0, 30));
+		assertNotNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 0), this.grid.index(0, 5)));
+	}
+
+	@Test
+	public void onlyTheEntriesNearAnEditAreDropped() {
+		this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		this.search(ALGORITHMS.ASTAR, 45, 45, 49, 49);
+		this.edit(this.grid.index(47, 47));
+		assertNotNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 0), this.grid.index(0, 5)));
+		assertNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(45, 45), this.grid.index(49, 49)));
+	}
+
+	@Test
+	public void unreportedEditsDropEveryEntry() {
+		this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		//far from the search, but the cache is not told about it
+		this.grid.toggleWall(this.grid.index(40, 40));
+		assertNull(this.cache.get(ALGORITHMS.ASTAR, this.grid.index(0, 0), this.grid.index(0, 5)));
+		assertEquals(0, this.cache.size());
+
+		//an unreported edit followed by a reported one far away
+		this.search(ALGORITHMS.ASTAR, 0, 0, 0, 5);
+		this.grid.toggleWall(this.grid.index(40, 40));
+		this.edit(this.grid.index(30, 30));
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void dropsTheLeastRecentlyUsedEntry() {
+		for(int column = 1; column <= 4; column++) {
+			this.search(ALGORITHMS.BFS, 0, 0, 0, column);
+		}
+		//the first query becomes the most recently used
+		assertNotNull(this.cache.get(ALGORITHMS.BFS, this.grid.index(0, 0), this.grid.index(0, 1)));
+		this.search(ALGORITHMS.BFS, 0, 0, 0, 5);
+		assertEquals(4, this.cache.size());
+		assertNotNull(this.cache.get(ALGORITHMS.BFS, this.grid.index(0, 0), this.grid.index(0, 1)));
+		assertNull(this.cache.get(ALGORITHMS.BFS, this.grid.index(0, 0), this.grid.index(0, 2)));
+	}
+
+	//Runs a search and caches its path
+	private ArrayList<Node> search(ALGORITHMS algorithm, int sourceRow, int sourceColumn, int destinationRow, int destinationColumn) {
+		Graph graph = algorithm.create(this.grid);
+		graph.setSource(sourceRow, sourceColumn);
+		graph.setDestination(destinationRow, destinationColumn);
+		ArrayList<Node> path = graph.findPath();
+		this.cache.put(algorithm, graph, path, null);
+		return path;
+	}
+
+	//Toggles a wall and reports it to the cache, as the controller does
+	private void edit(int index) {
+		this.grid.toggleWall(index);
+		this.cache.cellChanged(index);
+	}
+}
@@ -0,0 +1,148 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests that grid snapshots do not change with later edits, and that QueryService answers
+ * concurrent queries with the cheapest path of the snapshot each query searched.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryServiceTest {
+
+	//algorithms that find the cheapest paths
+	private static final ALGORITHMS[] OPTIMAL = {ALGORITHMS.DIJKSTRA, ALGORITHMS.ASTAR,
+			ALGORITHMS.BIDIRECTIONAL_DIJKSTRA, ALGORITHMS.LPASTAR, ALGORITHMS.ALT};
+	private static final int THREADS = 4;
+
+	@Test
+	public void snapshotsIgnoreLaterEdits() {
+		Random random = new Random(23);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		GridSnapshot before = grid.snapshot();
+		boolean[] walls = new boolean[grid.size()];
+		double[] costs = new double[grid.size()];
+		for(int i = 0; i < grid.size(); i++) {
+			walls[i] = grid.isWall(i);
+			costs[i] = grid.cost(i);
+		}
+		long version = grid.getVersion();
+
+		for(int edit = 0; edit < 50; edit++) {
+			int cell = random.nextInt(grid.size());
+			if(random.nextBoolean()) {
+				grid.toggleWall(cell);
+			}
+			else {
+				grid.setCost(cell, 1 + random.nextInt(9));
+			}
+		}
+		GridSnapshot after = grid.snapshot();
+
+		assertEquals(version, before.getVersion());
+		for(int i = 0; i < grid.size(); i++) {
+			assertEquals(walls[i], before.isWall(i), "wall " + i);
+			assertEquals(costs[i], before.cost(i), "cost " + i);
+			//the new snapshot copies the edited parts and shares the others
+			assertEquals(grid.isWall(i), after.isWall(i), "wall " + i);
+			assertEquals(grid.cost(i), after.cost(i), "cost " + i);
+		}
+		assertEquals(grid.getVersion(), after.getVersion());
+	}
+
+	@Test
+	public void concurrentQueriesFindCheapestPaths() throws InterruptedException, ExecutionException {
+		Random random = new Random(7);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		QueryService service = new QueryService(grid, THREADS);
+		try {
+			ArrayList<Future<QueryService.Result>> results = new ArrayList<Future<QueryService.Result>>();
+			int[] sources = new int[200];
+			int[] destinations = new int[sources.length];
+			for(int query = 0; query < sources.length; query++) {
+				sources[query] = TestGrids.openCell(grid, random);
+				destinations[query] = TestGrids.openCell(grid, random);
+				results.add(service.submit(OPTIMAL[query % OPTIMAL.length], sources[query], destinations[query], null));
+			}
+			for(int query = 0; query < sources.length; query++) {
+				this.assertCheapest(service.getSnapshot(), results.get(query).get(), sources[query], destinations[query],
+						OPTIMAL[query % OPTIMAL.length] + ", query " + query);
+			}
+		}
+		finally {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	public void queriesSearchTheSnapshotTheyStartedWith() throws InterruptedException, ExecutionException {
+		Random random = new Random(11);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		QueryService service = new QueryService(grid, THREADS);
+		//every published snapshot by version, to check the queries that searched it
+		HashMap<Long, GridSnapshot> published = new HashMap<Long, GridSnapshot>();
+		published.put(service.getSnapshot().getVersion(), service.getSnapshot());
+		try {
+			ArrayList<Future<QueryService.Result>> results = new ArrayList<Future<QueryService.Result>>();
+			ArrayList<int[]> queries = new ArrayList<int[]>();
+			for(int round = 0; round < 30; round++) {
+				for(int query = 0; query < 10; query++) {
+					int source = TestGrids.openCell(grid, random);
+					int destination = TestGrids.openCell(grid, random);
+					int algorithm = random.nextInt(OPTIMAL.length);
+					queries.add(new int[] {algorithm, source, destination});
+					results.add(service.submit(OPTIMAL[algorithm], source, destination, null));
+				}
+				//the grid is edited while the queries run, they must not see it until it is published
+				for(int edit = 0; edit < 5; edit++) {
+					int cell = random.nextInt(grid.size());
+					if(random.nextBoolean()) {
+						grid.toggleWall(cell);
+					}
+					else {
+						grid.setCost(cell, 1 + random.nextInt(9));
+					}
+				}
+				service.publish(grid);
+				published.put(service.getSnapshot().getVersion(), service.getSnapshot());
+			}
+			for(int i = 0; i < results.size(); i++) {
+				int[] query = queries.get(i);
+				QueryService.Result result = results.get(i).get();
+				GridSnapshot snapshot = published.get(result.version);
+				assertNotNull(snapshot, "query " + i + " searched an unpublished version " + result.version);
+				this.assertCheapest(snapshot, result, query[1], query[2], OPTIMAL[query[0]] + ", query " + i);
+			}
+		}
+		finally {
+			service.shutdown();
+		}
+	}
+
+	//Checks a result against the distance field of the snapshot it searched
+	private void assertCheapest(GridSnapshot snapshot, QueryService.Result result, int source, int destination, String message) {
+		assertFalse(result.stopped, message);
+		//the walls of the source and destination may have been toggled by an edit
+		if(snapshot.isWall(source) || snapshot.isWall(destination) || source == destination) {
+			return;
+		}
+		DistanceField field = new DistanceField(snapshot, destination);
+		TestGrids.assertValid(snapshot, result.path, source, destination, message);
+		if(field.getDistance(source) == Float.POSITIVE_INFINITY) {
+			assertTrue(result.path.isEmpty(), message + ": the destination can not be reached");
+			return;
+		}
+		//the field stores its distances as floats
+		assertEquals(field.getDistance(source), TestGrids.cost(snapshot, result.path), 1e-3, message);
+	}
+}
@@ -0,0 +1,93 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Tests that clearing a SearchState forgets the previous search,
+ * and that algorithms reused across searches behave like new ones.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchStateTest {
+
+	//number of searches run on the same algorithms
+	private static final int QUERIES = 200;
+
+	@Test
+	public void clearForgetsEveryCell() {
+		SearchState state = new SearchState(10, 5);
+		state.setVisited(3);
+		state.setDistance(4, 2.5);
+		state.setParent(5, 4);
+		assertTrue(state.isVisited(3));
+		assertEquals(2.5, state.getDistance(4));
+		assertEquals(4, state.getParent(5));
+		state.clear();
+		for(int index = 0; index < 10; index++) {
+			assertFalse(state.isReached(index));
+			assertFalse(state.isVisited(index));
+			assertEquals(Double.POSITIVE_INFINITY, state.getDistance(index));
+			assertEquals(-1, state.getParent(index));
+		}
+	}
+
+	@Test
+	public void writingOneFieldResetsTheOthers() {
+		SearchState state = new SearchState(4, 2);
+		state.setVisited(1);
+		state.setDistance(1, 7);
+		state.setParent(1, 0);
+		state.clear();
+		//the old visited flag, distance and parent must not come back with the new distance
+		state.setDistance(1, 3);
+		assertTrue(state.isReached(1));
+		assertFalse(state.isVisited(1));
+		assertEquals(3, state.getDistance(1));
+		assertEquals(-1, state.getParent(1));
+	}
+
+	@Test
+	public void reusedAlgorithmsMatchNewOnes() {
+		Random random = new Random(6);
+		GridModel grid = TestGrids.randomGrid(random, true);
+		Graph[] reused = this.algorithms(grid);
+		for(int query = 0; query < QUERIES; query++) {
+			int source = TestGrids.openCell(grid, random);
+			int destination = TestGrids.openCell(grid, random);
+			Graph[] fresh = this.algorithms(grid);
+			for(int i = 0; i < reused.length; i++) {
+				ArrayList<Node> expected = TestGrids.search(fresh[i], source, destination);
+				ArrayList<Node> path = TestGrids.search(reused[i], source, destination);
+				assertEquals(this.cells(grid, expected), this.cells(grid, path), reused[i].getClass().getSimpleName() + ", query " + query);
+			}
+		}
+	}
+
+	//Creates every algorithm on the grid
+	private Graph[] algorithms(GridModel grid) {
+		return new Graph[] {
+			new BFSAlgorithm(grid),
+			new DFSAlgorithm(grid),
+			new DijkstraAlgorithm(grid),
+			new AStarAlgorithm(grid),
+			new BidirectionalBFSAlgorithm(grid),
+			new BidirectionalDijkstraAlgorithm(grid),
+			new JumpPointSearchAlgorithm(grid)
+		};
+	}
+
+	//Returns the indices of the cells of a path
+	private ArrayList<Integer> cells(GridModel grid, ArrayList<Node> path) {
+		ArrayList<Integer> cells = new ArrayList<Integer>();
+		for(Node node : path) {
+			cells.add(grid.index(node.x, node.y));
+		}
+		return cells;
+	}
+}
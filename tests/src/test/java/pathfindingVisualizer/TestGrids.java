@@ -0,0 +1,126 @@
+package pathfindingVisualizer;
+
+/**
+ * @author Aayushi Pandey
+ * Random grids and path checks shared by the tests of the algorithms.
+ * Every grid is generated from a seed, a failure names the seed to reproduce it.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+final class TestGrids {
+
+	private TestGrids() {
+	}
+
+	/**
+	 * Generates a grid of 10 to 40 rows and columns, a quarter of the cells are walls
+	 * @param random: source of the grid
+	 * @param weighted: true to turn 30% of the other cells into weight nodes
+	 * @return the grid
+	 */
+	static GridModel randomGrid(Random random, boolean weighted) {
+		GridModel grid = new GridModel(10 + random.nextInt(31), 10 + random.nextInt(31));
+		for(int i = 0; i < grid.size(); i++) {
+			double roll = random.nextDouble();
+			if(roll < 0.25) {
+				grid.toggleWall(i);
+			}
+			else if(weighted && roll < 0.55) {
+				grid.toggleWeight(i);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Returns a random cell that is not a wall
+	 * @param grid: the grid
+	 * @param random: source of the cell
+	 * @return index of the cell
+	 */
+	static int openCell(GridModel grid, Random random) {
+		while(true) {
+			int cell = random.nextInt(grid.size());
+			if(!grid.isWall(cell)) {
+				return cell;
+			}
+		}
+	}
+
+	/**
+	 * Runs a search, the algorithm's object may have run other searches before
+	 * @param graph: the algorithm
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @return the path from the destination to the source (excluded)
+	 */
+	static ArrayList<Node> search(Graph graph, int source, int destination) {
+		graph.reset();
+		graph.setSource(source / graph.columns, source % graph.columns);
+		graph.setDestination(destination / graph.columns, destination % graph.columns);
+		return graph.findPath();
+	}
+
+	/**
+	 * Returns the cost of entering every cell of a path
+	 * @param grid: the grid of the path
+	 * @param path: the path
+	 * @return cost of the path
+	 */
+	static double cost(ReadOnlyGrid grid, ArrayList<Node> path) {
+		double cost = 0;
+		for(Node node : path) {
+			cost += grid.cost(grid.index(node.x, node.y));
+		}
+		return cost;
+	}
+
+	/**
+	 * Checks that a path goes from the destination back to the source through open neighbours
+	 * @param grid: the grid of the path
+	 * @param path: the path, empty if the destination was not reached
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param message: names the query in a failure
+	 */
+	static void assertValid(ReadOnlyGrid grid, ArrayList<Node> path, int source, int destination, String message) {
+		if(path.isEmpty()) {
+			return;
+		}
+		Node first = path.get(0);
+		assertEquals(destination, grid.index(first.x, first.y), message + ": the path does not start at the destination");
+		int x = source / grid.getColumns();
+		int y = source % grid.getColumns();
+		for(int i = path.size() - 1; i >= 0; i--) {
+			Node node = path.get(i);
+			assertEquals(1, Math.abs(node.x - x) + Math.abs(node.y - y), message + ": step " + i + " is not a move to a neighbour");
+			assertFalse(grid.isWall(grid.index(node.x, node.y)), message + ": the path crosses a wall");
+			x = node.x;
+			y = node.y;
+		}
+	}
+
+	/**
+	 * Runs the same query with an algorithm and a reference algorithm,
+	 * the path must be valid and cost as much as the reference path
+	 * @param grid: the grid both algorithms search
+	 * @param graph: the algorithm
+	 * @param reference: the reference algorithm
+	 * @param source: index of the source
+	 * @param destination: index of the destination
+	 * @param message: names the query in a failure
+	 * @return the path of the algorithm
+	 */
+	static ArrayList<Node> assertSameCost(GridModel grid, Graph graph, Graph reference, int source, int destination, String message) {
+		ArrayList<Node> expected = search(reference, source, destination);
+		ArrayList<Node> path = search(graph, source, destination);
+		assertValid(grid, path, source, destination, message);
+		assertEquals(expected.isEmpty(), path.isEmpty(), message + ": the destination is reached by one algorithm only");
+		assertEquals(cost(grid, expected), cost(grid, path), 1e-9, message);
+		return path;
+	}
+}